@@ -23,6 +23,10 @@ repositories {
 dependencies {
     // Netty 网络框架
     implementation("io.netty:netty-all:4.1.108.Final")
+    implementation("io.netty:netty-transport-native-epoll:4.1.108.Final:linux-x86_64") // Linux原生传输
+    runtimeOnly("io.netty:netty-transport-native-epoll:4.1.108.Final:linux-aarch_64")
+    implementation("io.netty.incubator:netty-incubator-transport-classes-io_uring:0.0.25.Final")
+    runtimeOnly("io.netty.incubator:netty-incubator-transport-native-io_uring:0.0.25.Final:linux-x86_64") // io_uring 传输 (Linux 5.9+)
 
     // 日志框架
     implementation("org.slf4j:slf4j-api:2.0.13")
@@ -42,7 +46,6 @@ dependencies {
     // 测试框架
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
-    testImplementation("io.netty:netty-transport-native-epoll:4.1.108.Final:linux-x86_64") // Linux原生传输
 
     implementation("com.fasterxml.jackson.core:jackson-databind:2.15.0")
     implementation("com.lmax:disruptor:3.4.4")
@@ -90,4 +93,33 @@ tasks.register<Jar>("sourcesJar") {
 tasks.register<Jar>("javadocJar") {
     archiveClassifier.set("javadoc")
     from(tasks.javadoc)
-}
\ No newline at end of file
+}
+
+// JMH 基准测试源码集 (src/jmh/java)，运行: gradle jmh -Pjmh.include=<正则>
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+// 基准中使用的项目注解 (如 @EventListener) 不由 JMH 注解处理器处理，关闭 processing 警告以免触发 -Werror
+tasks.named<JavaCompile>(jmh.compileJavaTaskName) {
+    options.compilerArgs.add("-Xlint:-processing")
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "运行 JMH 基准测试"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(project.findProperty("jmh.include")?.toString() ?: ".*")
+    // 附加分析器，例如 -Pjmh.prof=gc 输出每次操作的分配量
+    project.findProperty("jmh.prof")?.let { args("-prof", it.toString()) }
+}
@@ -0,0 +1,197 @@
+package net.slidermc.sliderproxy.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import net.slidermc.sliderproxy.network.codec.JavaCipherProvider;
+import net.slidermc.sliderproxy.network.codec.StreamCipher;
+import net.slidermc.sliderproxy.network.encryption.EncryptionUtil;
+import net.slidermc.sliderproxy.network.netty.CipherEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AES/CFB8 编解码器基准：原地处理 vs 旧的 byte[] 双拷贝实现，输入分别为直接内存与堆内存
+ * 查看每次操作的分配量：gradle jmh -Pjmh.include=CipherBenchmark -Pjmh.prof=gc（gc.alloc.rate.norm，B/op）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CipherBenchmark {
+
+    @Param({"64", "1024", "32768"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean heap;
+
+    private byte[] payload;
+    private EmbeddedChannel encoder;
+    private EmbeddedChannel decoder;
+    private EmbeddedChannel legacyEncoder;
+    private EmbeddedChannel legacyDecoder;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        payload = new byte[size];
+        new Random(size).nextBytes(payload);
+
+        byte[] key = new byte[16];
+        new Random(0).nextBytes(key);
+        SecretKey secretKey = EncryptionUtil.createSecretKey(key);
+        JavaCipherProvider provider = new JavaCipherProvider();
+
+        encoder = new EmbeddedChannel(new CipherEncoder(provider.create(secretKey, true)));
+        decoder = new EmbeddedChannel(new InPlaceCipherDecoder(provider.create(secretKey, false)));
+        legacyEncoder = new EmbeddedChannel(new LegacyCipherEncoder(EncryptionUtil.createEncryptCipher(secretKey)));
+        legacyDecoder = new EmbeddedChannel(new LegacyCipherDecoder(EncryptionUtil.createDecryptCipher(secretKey)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoder.finishAndReleaseAll();
+        decoder.finishAndReleaseAll();
+        legacyEncoder.finishAndReleaseAll();
+        legacyDecoder.finishAndReleaseAll();
+    }
+
+    private ByteBuf newInput() {
+        ByteBuf buf = heap ? ByteBufAllocator.DEFAULT.heapBuffer(size) : ByteBufAllocator.DEFAULT.directBuffer(size);
+        buf.writeBytes(payload);
+        return buf;
+    }
+
+    @Benchmark
+    public int encryptInPlace() {
+        encoder.writeOutbound(newInput());
+        ByteBuf out = encoder.readOutbound();
+        int readable = out.readableBytes();
+        out.release();
+        return readable;
+    }
+
+    @Benchmark
+    public int encryptLegacy() {
+        legacyEncoder.writeOutbound(newInput());
+        ByteBuf out = legacyEncoder.readOutbound();
+        int readable = out.readableBytes();
+        out.release();
+        return readable;
+    }
+
+    @Benchmark
+    public int decryptInPlace() {
+        decoder.writeInbound(newInput());
+        ByteBuf out = decoder.readInbound();
+        int readable = out.readableBytes();
+        out.release();
+        return readable;
+    }
+
+    @Benchmark
+    public int decryptLegacy() {
+        legacyDecoder.writeInbound(newInput());
+        ByteBuf out = legacyDecoder.readInbound();
+        int readable = out.readableBytes();
+        out.release();
+        return readable;
+    }
+
+    /**
+     * 与 FrameDecoder 中的解密步骤相同：在收到的缓冲区上原地解密
+     */
+    static final class InPlaceCipherDecoder extends MessageToMessageDecoder<ByteBuf> {
+        private final StreamCipher cipher;
+
+        InPlaceCipherDecoder(StreamCipher cipher) {
+            this.cipher = cipher;
+        }
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+            cipher.process(in);
+            out.add(in.retain());
+        }
+    }
+
+    /**
+     * 旧实现：读入 byte[]，解密到第二个 byte[]，再复制到新的堆缓冲区
+     */
+    static final class LegacyCipherDecoder extends MessageToMessageDecoder<ByteBuf> {
+        private final Cipher cipher;
+        private byte[] inputBuffer = new byte[0];
+        private byte[] outputBuffer = new byte[0];
+
+        LegacyCipherDecoder(Cipher cipher) {
+            this.cipher = cipher;
+        }
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+            int readableBytes = in.readableBytes();
+            if (inputBuffer.length < readableBytes) {
+                inputBuffer = new byte[readableBytes];
+            }
+            in.readBytes(inputBuffer, 0, readableBytes);
+            int outputSize = cipher.getOutputSize(readableBytes);
+            if (outputBuffer.length < outputSize) {
+                outputBuffer = new byte[outputSize];
+            }
+            int decryptedLength = cipher.update(inputBuffer, 0, readableBytes, outputBuffer);
+            ByteBuf decrypted = ctx.alloc().heapBuffer(decryptedLength);
+            decrypted.writeBytes(outputBuffer, 0, decryptedLength);
+            out.add(decrypted);
+        }
+    }
+
+    /**
+     * 旧实现：MessageToByteEncoder，同样经过两次 byte[] 拷贝
+     */
+    static final class LegacyCipherEncoder extends MessageToByteEncoder<ByteBuf> {
+        private final Cipher cipher;
+        private byte[] inputBuffer = new byte[0];
+        private byte[] outputBuffer = new byte[0];
+
+        LegacyCipherEncoder(Cipher cipher) {
+            this.cipher = cipher;
+        }
+
+        @Override
+        protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception {
+            int readableBytes = msg.readableBytes();
+            if (inputBuffer.length < readableBytes) {
+                inputBuffer = new byte[readableBytes];
+            }
+            msg.readBytes(inputBuffer, 0, readableBytes);
+            int outputSize = cipher.getOutputSize(readableBytes);
+            if (outputBuffer.length < outputSize) {
+                outputBuffer = new byte[outputSize];
+            }
+            int encryptedLength = cipher.update(inputBuffer, 0, readableBytes, outputBuffer);
+            out.writeBytes(outputBuffer, 0, encryptedLength);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package net.slidermc.sliderproxy.benchmark;
+
+import net.slidermc.sliderproxy.api.event.Event;
+import net.slidermc.sliderproxy.api.event.EventBus;
+import net.slidermc.sliderproxy.api.event.EventListener;
+import net.slidermc.sliderproxy.api.event.EventPriority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件分发基准：EventBus 生成的调用器 vs 旧的 Method.invoke 反射分发，以及开启监听器耗时统计后的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int listeners;
+
+    private EventBus eventBus;
+    private EventBus profiledEventBus;
+    private LegacyEventBus legacyEventBus;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        eventBus = new EventBus();
+        profiledEventBus = new EventBus();
+        profiledEventBus.setProfiling(true);
+        legacyEventBus = new LegacyEventBus();
+        for (int i = 0; i < listeners; i++) {
+            eventBus.register(new CountingListener());
+            profiledEventBus.register(new CountingListener());
+            legacyEventBus.register(new CountingListener());
+        }
+    }
+
+    @Benchmark
+    public int callEvent() {
+        CountingEvent event = new CountingEvent();
+        eventBus.callEvent(event);
+        return event.count;
+    }
+
+    @Benchmark
+    public int callEventProfiled() {
+        CountingEvent event = new CountingEvent();
+        profiledEventBus.callEvent(event);
+        return event.count;
+    }
+
+    @Benchmark
+    public int callEventLegacy() {
+        CountingEvent event = new CountingEvent();
+        legacyEventBus.callEvent(event);
+        return event.count;
+    }
+
+    public static class CountingEvent extends Event {
+        int count;
+    }
+
+    public static class CountingListener {
+        @EventListener
+        public void onEvent(CountingEvent event) {
+            event.count++;
+        }
+    }
+
+    /**
+     * 旧实现：按优先级分组，逐个 Method.invoke
+     */
+    static final class LegacyEventBus {
+        private final Map<EventPriority, List<Object[]>> listeners = new EnumMap<>(EventPriority.class);
+
+        void register(Object listener) {
+            for (Method method : listener.getClass().getDeclaredMethods()) {
+                EventListener annotation = method.getAnnotation(EventListener.class);
+                if (annotation != null) {
+                    method.setAccessible(true);
+                    listeners.computeIfAbsent(annotation.priority(), k -> new ArrayList<>())
+                            .add(new Object[]{listener, method});
+                }
+            }
+        }
+
+        void callEvent(Event event) {
+            for (EventPriority priority : EventPriority.values()) {
+                List<Object[]> priorityListeners = listeners.get(priority);
+                if (priorityListeners == null) {
+                    continue;
+                }
+                for (Object[] listener : priorityListeners) {
+                    try {
+                        ((Method) listener[1]).invoke(listener[0], event);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package net.slidermc.sliderproxy.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VarInt 与字符串编解码基准：MinecraftProtocolHelper 的实现 vs 旧的逐字节循环 / byte[] 中转实现
+ * 字符串与网络读取、CompressionDecoder 解压的结果一样放在直接内存中
+ * 输入是一批模拟的包：包ID、实体ID、数组长度等 VarInt，以及玩家名、命名空间键、聊天消息等字符串
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolCodecBenchmark {
+    private static final int PACKETS = 256;
+
+    private static final String[] STRINGS = {
+            "Steve", "Notch_2009", "minecraft:entity.player.hurt", "minecraft:overworld",
+            "hello everyone, anyone up for a round of bedwars?", "大家好，今天服务器维护到几点？",
+            "/tp @s ~ ~10 ~", "{\"text\":\"Welcome\",\"color\":\"gold\"}"
+    };
+
+    private int[] varInts;
+    private String[] strings;
+    private ByteBuf varIntInput;
+    private ByteBuf stringInput;
+    private ByteBuf output;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        varInts = new int[PACKETS * 4];
+        for (int i = 0; i < PACKETS; i++) {
+            varInts[i * 4] = random.nextInt(0x80);                   // 包ID，1 字节
+            varInts[i * 4 + 1] = random.nextInt(200_000);            // 实体ID，多为 3 字节
+            varInts[i * 4 + 2] = random.nextInt(300);                // 数组/字符串长度，1-2 字节
+            varInts[i * 4 + 3] = random.nextInt(10) == 0 ? -1 : random.nextInt(16); // 偶尔出现 5 字节的负数
+        }
+        strings = new String[PACKETS];
+        for (int i = 0; i < PACKETS; i++) {
+            strings[i] = STRINGS[random.nextInt(STRINGS.length)];
+        }
+
+        varIntInput = ByteBufAllocator.DEFAULT.directBuffer();
+        for (int value : varInts) {
+            MinecraftProtocolHelper.writeVarInt(varIntInput, value);
+        }
+        stringInput = ByteBufAllocator.DEFAULT.directBuffer();
+        for (String value : strings) {
+            MinecraftProtocolHelper.writeString(stringInput, value);
+        }
+        output = ByteBufAllocator.DEFAULT.directBuffer(Math.max(varIntInput.readableBytes(), stringInput.readableBytes()) * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        varIntInput.release();
+        stringInput.release();
+        output.release();
+    }
+
+    @Benchmark
+    public int readVarInt() {
+        ByteBuf buf = varIntInput.duplicate();
+        int sum = 0;
+        while (buf.isReadable()) {
+            sum += MinecraftProtocolHelper.readVarInt(buf);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int readVarIntLegacy() {
+        ByteBuf buf = varIntInput.duplicate();
+        int sum = 0;
+        while (buf.isReadable()) {
+            sum += Legacy.readVarInt(buf);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int writeVarInt() {
+        ByteBuf buf = output.clear();
+        for (int value : varInts) {
+            MinecraftProtocolHelper.writeVarInt(buf, value);
+        }
+        return buf.writerIndex();
+    }
+
+    @Benchmark
+    public int writeVarIntLegacy() {
+        ByteBuf buf = output.clear();
+        for (int value : varInts) {
+            Legacy.writeVarInt(buf, value);
+        }
+        return buf.writerIndex();
+    }
+
+    @Benchmark
+    public void readString(Blackhole blackhole) {
+        ByteBuf buf = stringInput.duplicate();
+        while (buf.isReadable()) {
+            blackhole.consume(MinecraftProtocolHelper.readString(buf));
+        }
+    }
+
+    @Benchmark
+    public void readStringLegacy(Blackhole blackhole) {
+        ByteBuf buf = stringInput.duplicate();
+        while (buf.isReadable()) {
+            blackhole.consume(Legacy.readString(buf));
+        }
+    }
+
+    @Benchmark
+    public int writeString() {
+        ByteBuf buf = output.clear();
+        for (String value : strings) {
+            MinecraftProtocolHelper.writeString(buf, value);
+        }
+        return buf.writerIndex();
+    }
+
+    @Benchmark
+    public int writeStringLegacy() {
+        ByteBuf buf = output.clear();
+        for (String value : strings) {
+            Legacy.writeString(buf, value);
+        }
+        return buf.writerIndex();
+    }
+
+    /**
+     * 旧实现
+     */
+    static final class Legacy {
+        private Legacy() {}
+
+        static int readVarInt(ByteBuf buf) {
+            int numRead = 0;
+            int result = 0;
+            while (buf.isReadable()) {
+                byte read = buf.readByte();
+                int value = read & 0b01111111;
+                result |= (value << (7 * numRead));
+
+                numRead++;
+                if (numRead > 5) throw new RuntimeException("VarInt too big");
+
+                if ((read & 0b10000000) == 0) return result;
+            }
+            return -1;
+        }
+
+        static void writeVarInt(ByteBuf buf, int value) {
+            while ((value & 0xFFFFFF80) != 0L) {
+                buf.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf.writeByte(value & 0x7F);
+        }
+
+        static String readString(ByteBuf buf) {
+            int length = readVarInt(buf);
+            byte[] bytes = new byte[length];
+            buf.readBytes(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        static void writeString(ByteBuf buf, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(buf, bytes.length);
+            buf.writeBytes(bytes);
+        }
+    }
+}
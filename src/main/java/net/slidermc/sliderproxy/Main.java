@@ -13,6 +13,7 @@ import net.slidermc.sliderproxy.commands.SliderProxyCommand;
 import net.slidermc.sliderproxy.console.ConsoleCommandReader;
 import net.slidermc.sliderproxy.listener.ReceivePluginMessageEventHandler;
 import net.slidermc.sliderproxy.network.ProtocolState;
+import net.slidermc.sliderproxy.network.codec.CodecProviders;
 import net.slidermc.sliderproxy.network.encryption.ServerEncryptionManager;
 import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
 import net.slidermc.sliderproxy.network.packet.PacketDirection;
@@ -77,6 +78,9 @@ public class Main {
 
         YamlConfiguration yamlConfiguration = new YamlConfiguration(configFile);
         RunningData.configuration = yamlConfiguration;
+        NetworkPacketRegistry.getInstance().setOnDemandDecoding(yamlConfiguration.getBoolean("network.on-demand-decoding", true));
+        NetworkPacketRegistry.getInstance().setPacketPooling(yamlConfiguration.getBoolean("network.packet-pooling", false));
+        CodecProviders.getInstance().initialize();
         ServerManager serverManager = ServerManager.getInstance();
 
         // 读取并设置语言配置
@@ -179,6 +183,7 @@ public class Main {
         @SuppressWarnings("unchecked")
         Map<String, Object> serversMap = (Map<String, Object>) serversObj;
         int serverCount = 0;
+        int defaultConnectTimeout = config.getInt("network.connect-timeout", ProxiedServer.DEFAULT_CONNECT_TIMEOUT);
 
         for (Map.Entry<String, Object> entry : serversMap.entrySet()) {
             String serverName = entry.getKey();
@@ -195,10 +200,11 @@ public class Main {
             // 读取服务器地址和端口
             String address = getStringFromMap(serverConfig, "address", "127.0.0.1");
             int port = getIntFromMap(serverConfig, "port", 25565);
+            int connectTimeout = getIntFromMap(serverConfig, "connect-timeout", defaultConnectTimeout);
 
             // 创建ProxiedServer实例
             InetSocketAddress serverAddress = new InetSocketAddress(address, port);
-            ProxiedServer proxiedServer = new ProxiedServer(serverAddress, serverName);
+            ProxiedServer proxiedServer = new ProxiedServer(serverAddress, serverName, connectTimeout);
 
             // 添加到服务器管理器
             serverManager.addServer(proxiedServer);
@@ -255,55 +261,55 @@ public class Main {
     }
 
     private static void registerClientboundPackets() {
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.STATUS, 0x00, ClientboundStatusResponsePacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.STATUS, 0x01, ClientboundPongResponsePacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x02, ClientboundLoginSuccessPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x00, ClientboundDisconnectLoginPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x01, ClientboundEncryptionRequestPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x03, ClientboundSetCompressionPacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x04, ClientboundKeepAliveConfigurationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x03, ClientboundFinishConfigurationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x02, ClientboundDisconnectConfigurationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x01, ClientboundPluginMessagePacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x6F, ClientboundStartConfigurationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x26, ClientboundKeepAlivePlayPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x1C, ClientboundDisconnectPlayPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x18, ClientboundPluginMessagePacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x72, ClientboundSystemChatPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x2B, ClientboundLoginPlayPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x6E, ClientboundSoundEffectPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x58, ClientboundSetRenderDistancePacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x10, ClientboundCommandsPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x0F, ClientboundCommandSuggestionsPacket.class);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.STATUS, 0x00, ClientboundStatusResponsePacket.class, ClientboundStatusResponsePacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.STATUS, 0x01, ClientboundPongResponsePacket.class, ClientboundPongResponsePacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x02, ClientboundLoginSuccessPacket.class, ClientboundLoginSuccessPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x00, ClientboundDisconnectLoginPacket.class, ClientboundDisconnectLoginPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x01, ClientboundEncryptionRequestPacket.class, ClientboundEncryptionRequestPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.LOGIN, 0x03, ClientboundSetCompressionPacket.class, ClientboundSetCompressionPacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x04, ClientboundKeepAliveConfigurationPacket.class, ClientboundKeepAliveConfigurationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x03, ClientboundFinishConfigurationPacket.class, ClientboundFinishConfigurationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x02, ClientboundDisconnectConfigurationPacket.class, ClientboundDisconnectConfigurationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.CONFIGURATION, 0x01, ClientboundPluginMessagePacket.class, ClientboundPluginMessagePacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x6F, ClientboundStartConfigurationPacket.class, ClientboundStartConfigurationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x26, ClientboundKeepAlivePlayPacket.class, ClientboundKeepAlivePlayPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x1C, ClientboundDisconnectPlayPacket.class, ClientboundDisconnectPlayPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x18, ClientboundPluginMessagePacket.class, ClientboundPluginMessagePacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x72, ClientboundSystemChatPacket.class, ClientboundSystemChatPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x2B, ClientboundLoginPlayPacket.class, ClientboundLoginPlayPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x6E, ClientboundSoundEffectPacket.class, ClientboundSoundEffectPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x58, ClientboundSetRenderDistancePacket.class, ClientboundSetRenderDistancePacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x10, ClientboundCommandsPacket.class, ClientboundCommandsPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, 0x0F, ClientboundCommandSuggestionsPacket.class, ClientboundCommandSuggestionsPacket::new);
     }
 
     private static void registerServerboundPackets() {
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.HANDSHAKE, 0x00, ServerboundHandshakePacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.STATUS, 0x00, ServerboundStatusRequestPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.STATUS, 0x01, ServerboundPingRequestPacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.LOGIN, 0x00, ServerboundHelloPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.LOGIN, 0x01, ServerboundEncryptionResponsePacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.LOGIN, 0x03, ServerboundLoginAcknowledgePacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x04, ServerboundKeepAliveConfigurationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x03, ServerboundFinishConfigurationAckPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x02, ServerboundPluginMessagePacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x00, ServerboundClientInformationConfigurationPacket.class);
-
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1B, ServerboundKeepAlivePlayPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x15, ServerboundPluginMessagePacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x06, ServerboundChatCommandPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x08, ServerboundChatPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x0F, ServerboundConfigurationAckPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x0D, ServerboundClientInformationPlayPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1E, ServerboundSetPlayerPositionAndRotationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1F, ServerboundSetPlayerRotationPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1D, ServerboundSetPlayerPositionPacket.class);
-        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x0E, ServerboundCommandSuggestionPacket.class);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.HANDSHAKE, 0x00, ServerboundHandshakePacket.class, ServerboundHandshakePacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.STATUS, 0x00, ServerboundStatusRequestPacket.class, ServerboundStatusRequestPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.STATUS, 0x01, ServerboundPingRequestPacket.class, ServerboundPingRequestPacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.LOGIN, 0x00, ServerboundHelloPacket.class, ServerboundHelloPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.LOGIN, 0x01, ServerboundEncryptionResponsePacket.class, ServerboundEncryptionResponsePacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.LOGIN, 0x03, ServerboundLoginAcknowledgePacket.class, ServerboundLoginAcknowledgePacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x04, ServerboundKeepAliveConfigurationPacket.class, ServerboundKeepAliveConfigurationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x03, ServerboundFinishConfigurationAckPacket.class, ServerboundFinishConfigurationAckPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x02, ServerboundPluginMessagePacket.class, ServerboundPluginMessagePacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.CONFIGURATION, 0x00, ServerboundClientInformationConfigurationPacket.class, ServerboundClientInformationConfigurationPacket::new);
+
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1B, ServerboundKeepAlivePlayPacket.class, ServerboundKeepAlivePlayPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x15, ServerboundPluginMessagePacket.class, ServerboundPluginMessagePacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x06, ServerboundChatCommandPacket.class, ServerboundChatCommandPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x08, ServerboundChatPacket.class, ServerboundChatPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x0F, ServerboundConfigurationAckPacket.class, ServerboundConfigurationAckPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x0D, ServerboundClientInformationPlayPacket.class, ServerboundClientInformationPlayPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1E, ServerboundSetPlayerPositionAndRotationPacket.class, ServerboundSetPlayerPositionAndRotationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1F, ServerboundSetPlayerRotationPacket.class, ServerboundSetPlayerRotationPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x1D, ServerboundSetPlayerPositionPacket.class, ServerboundSetPlayerPositionPacket::new);
+        NetworkPacketRegistry.getInstance().registerPacket(PacketDirection.SERVERBOUND, ProtocolState.PLAY, 0x0E, ServerboundCommandSuggestionPacket.class, ServerboundCommandSuggestionPacket::new);
     }
 }
@@ -162,6 +162,8 @@ public class ShutdownManager {
      */
     private void cleanup() {
         log.debug("正在清理资源...");
+        // 插件已禁用，停止异步事件线程
+        EventRegistry.shutdown();
         // 可以在这里添加其他清理逻辑
     }
 }
@@ -0,0 +1,97 @@
+package net.slidermc.sliderproxy.api.event;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WorkHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.internal.MathUtil;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步事件的执行线程池
+ * 任务经 Disruptor 环形缓冲区交给固定数量的工作线程，每个任务只由其中一个线程执行；
+ * 投递不会阻塞调用方（通常是 Netty 事件循环），缓冲区满时直接返回 false 由调用方决定如何处理
+ */
+final class AsyncEventDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(AsyncEventDispatcher.class);
+
+    /** 默认工作线程数 (events.async-workers) */
+    static final int DEFAULT_WORKERS = 4;
+    /** 默认环形缓冲区长度 (events.async-queue-size) */
+    static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private static final EventTranslatorOneArg<TaskSlot, Runnable> TRANSLATOR = (slot, sequence, task) -> slot.task = task;
+
+    private final Disruptor<TaskSlot> disruptor;
+    private final RingBuffer<TaskSlot> ringBuffer;
+
+    private static final class TaskSlot {
+        Runnable task;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    AsyncEventDispatcher(int workers, int queueSize) {
+        this.disruptor = new Disruptor<>(TaskSlot::new, MathUtil.findNextPositivePowerOfTwo(queueSize),
+                new DefaultThreadFactory("SliderProxy-Event", true), ProducerType.MULTI, new BlockingWaitStrategy());
+        WorkHandler<TaskSlot>[] handlers = new WorkHandler[workers];
+        for (int i = 0; i < workers; i++) {
+            handlers[i] = slot -> {
+                Runnable task = slot.task;
+                slot.task = null;
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    // 异常不能抛给 Disruptor，否则工作线程会退出
+                    log.error("Error running async event task", e);
+                }
+            };
+        }
+        disruptor.handleEventsWithWorkerPool(handlers);
+        this.ringBuffer = disruptor.start();
+        log.debug("Async event dispatcher started with {} workers, queue size {}", workers, ringBuffer.getBufferSize());
+    }
+
+    /**
+     * 按 events.async-workers / events.async-queue-size 创建
+     */
+    static AsyncEventDispatcher fromConfig() {
+        int workers = DEFAULT_WORKERS;
+        int queueSize = DEFAULT_QUEUE_SIZE;
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration != null) {
+            workers = configuration.getInt("events.async-workers", DEFAULT_WORKERS);
+            queueSize = configuration.getInt("events.async-queue-size", DEFAULT_QUEUE_SIZE);
+        }
+        return new AsyncEventDispatcher(Math.max(1, workers), Math.max(2, queueSize));
+    }
+
+    /**
+     * 投递任务，不阻塞
+     *
+     * @return 缓冲区已满时返回 false，任务不会执行
+     */
+    boolean submit(Runnable task) {
+        return ringBuffer.tryPublishEvent(TRANSLATOR, task);
+    }
+
+    /**
+     * 等待已投递的任务执行完毕后停止工作线程，超时则直接停止
+     */
+    void shutdown(long timeout, TimeUnit unit) {
+        try {
+            disruptor.shutdown(timeout, unit);
+        } catch (TimeoutException e) {
+            log.warn("Async event tasks did not finish within {} {}, halting", timeout, unit);
+            disruptor.halt();
+        }
+    }
+}
@@ -1,29 +1,113 @@
 package net.slidermc.sliderproxy.api.event;
 
+import io.netty.channel.EventLoop;
+import io.netty.util.internal.ThreadExecutorMap;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import net.slidermc.sliderproxy.api.plugin.PluginClassLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 事件总线 - 负责事件的注册、分发和处理
  * 支持基于注解的监听器注册
+ * 注册时为每个监听器方法生成直接调用的 EventExecutor，分发时不经过反射
+ * 监听器会收到其参数类型及所有子类型的事件，例如监听 PlayerEvent 可以收到 PlayerJoinEvent；参数也可以是事件实现的接口
+ * 每个具体事件类第一次分发时解析出其所有父类型上的监听器，按优先级排好序缓存为数组，注册或注销时整体失效，
+ * 分发时只需一次查表和一次数组遍历，不加锁
+ * <p>
+ * callEventAsync 在异步事件线程（Disruptor 工作线程池）上分发，返回的 CompletableFuture 在所有监听器结束后完成，
+ * 监听器返回的 CompletionStage 会被等待；调用方（例如 Netty 事件循环）不会被慢的监听器阻塞
+ * <p>
+ * 开启统计后记录每个监听器的调用次数、累计与最大耗时，在事件循环上超过阈值的监听器会记录警告；
+ * 关闭时每次分发只多一次 volatile 读
  */
 public class EventBus {
     private static final Logger log = LoggerFactory.getLogger(EventBus.class);
 
-    // 事件监听器映射：事件类 -> 优先级分组 -> 监听器列表
-    private final Map<Class<? extends Event>, Map<EventPriority, List<RegisteredListener>>> listeners;
+    // 监听器类 -> 方法 -> 调用器工厂；同一监听器类的多个实例共用生成的类，随监听器类一起卸载
+    private static final ClassValue<Map<Method, MethodHandle>> EXECUTOR_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // 事件类 -> 自身、所有父类与实现的接口（由具体到抽象），类型层次不会变化，只计算一次
+    private static final ClassValue<Class<?>[]> TYPE_HIERARCHIES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            collectTypes(type, types);
+            return types.toArray(new Class<?>[0]);
+        }
+    };
+
+    // 事件类 -> 是否带有 @SyncOnly
+    private static final ClassValue<Boolean> SYNC_ONLY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(SyncOnly.class);
+        }
+    };
+
+    private static final RegisteredListener[] NO_LISTENERS = new RegisteredListener[0];
+
+    /** 默认的慢监听器阈值 (events.profiling.slow-listener-threshold-ms) */
+    static final int DEFAULT_SLOW_LISTENER_MILLIS = 5;
+
+    // 同一个监听器两次慢监听器警告之间的最小间隔，期间的警告只计数
+    private static final long SLOW_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    // 事件监听器映射：监听的类型 -> 按注册顺序的监听器列表，只在持有锁时访问
+    private final Map<Class<?>, List<RegisteredListener>> listeners;
+
+    // 分发用的监听器数组：具体事件类 -> 解析父类型后按优先级排序的监听器，没有监听器时为空数组
+    private final Map<Class<?>, RegisteredListener[]> handlers;
+
+    // 已知的事件类（分发过或作为监听参数出现过），用于检查接口参数，只在持有锁时访问；弱引用避免持有卸载插件的类
+    private final Set<Class<?>> knownEventTypes = Collections.newSetFromMap(new WeakHashMap<>());
 
     // 已注册的监听器对象集合，用于防止重复注册
     private final Set<Object> registeredHandlers;
 
+    // 异步事件线程池，第一次需要时创建
+    private volatile AsyncEventDispatcher asyncDispatcher;
+
+    // 是否记录监听器耗时
+    private volatile boolean profiling;
+
+    // 在事件循环上超过该耗时的监听器记录警告，0 表示不检查
+    private volatile long slowListenerNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_LISTENER_MILLIS);
+
     public EventBus() {
-        this.listeners = new ConcurrentHashMap<>();
+        this.listeners = new HashMap<>();
+        this.handlers = new ConcurrentHashMap<>();
         this.registeredHandlers = Collections.synchronizedSet(new HashSet<>());
+
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration != null) {
+            this.profiling = configuration.getBoolean("events.profiling.enabled", false);
+            setSlowListenerThreshold(configuration.getInt("events.profiling.slow-listener-threshold-ms",
+                    DEFAULT_SLOW_LISTENER_MILLIS), TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -32,7 +116,7 @@ public class EventBus {
      *
      * @param listener 监听器对象
      */
-    public void register(Object listener) {
+    public synchronized void register(Object listener) {
         if (listener == null) {
             throw new IllegalArgumentException("Listener cannot be null");
         }
@@ -46,32 +130,45 @@ public class EventBus {
         Class<?> clazz = listener.getClass();
         Method[] methods = clazz.getDeclaredMethods();
 
-        boolean hasListener = false;
+        // 先校验并生成所有监听器，任一方法不合法时整个对象都不注册
+        Map<Class<?>, List<RegisteredListener>> found = new LinkedHashMap<>();
 
         for (Method method : methods) {
             EventListener annotation = method.getAnnotation(EventListener.class);
             if (annotation != null) {
                 validateListenerMethod(method);
 
-                Class<? extends Event> eventType = getEventType(method);
+                Class<?> eventType = method.getParameterTypes()[0];
+                if (annotation.async() && SYNC_ONLY.get(eventType)) {
+                    throw new IllegalArgumentException(
+                            "Event " + eventType.getSimpleName() + " is @SyncOnly and cannot have async listeners: " + method);
+                }
                 EventPriority priority = annotation.priority();
                 boolean ignoreCancelled = annotation.ignoreCancelled();
 
                 RegisteredListener registeredListener = new RegisteredListener(
-                        listener, method, priority, ignoreCancelled
+                        listener, method, createExecutor(listener, method), createContinuation(listener, method),
+                        priority, ignoreCancelled, annotation.async(), new ListenerTimings(pluginName(clazz))
                 );
 
-                listeners.computeIfAbsent(eventType, k -> new EnumMap<>(EventPriority.class))
-                        .computeIfAbsent(priority, k -> new CopyOnWriteArrayList<>())
-                        .add(registeredListener);
-
-                hasListener = true;
+                found.computeIfAbsent(eventType, k -> new ArrayList<>()).add(registeredListener);
                 log.debug("Registered event listener: {}#{} for event {} with priority {}",
                         clazz.getSimpleName(), method.getName(), eventType.getSimpleName(), priority);
             }
         }
 
-        if (hasListener) {
+        if (!found.isEmpty()) {
+            for (Class<?> eventType : found.keySet()) {
+                if (Event.class.isAssignableFrom(eventType)) {
+                    knownEventTypes.add(eventType);
+                }
+            }
+            for (Map.Entry<Class<?>, List<RegisteredListener>> entry : found.entrySet()) {
+                warnIfUnknownInterface(entry.getKey(), entry.getValue());
+            }
+            found.forEach((eventType, list) -> listeners.computeIfAbsent(eventType, k -> new ArrayList<>()).addAll(list));
+            // 任何具体事件类的解析结果都可能受影响
+            handlers.clear();
             registeredHandlers.add(listener);
             log.debug("Registered event listener class: {}", clazz.getName());
         } else {
@@ -79,23 +176,43 @@ public class EventBus {
         }
     }
 
+    /**
+     * 参数为接口的监听器只能收到实现了该接口的事件，没有任何已知事件实现它时多半是写错了参数类型
+     * 插件自定义的事件可能要到第一次分发时才被知道，所以这里只警告不拒绝
+     */
+    private void warnIfUnknownInterface(Class<?> eventType, List<RegisteredListener> list) {
+        if (!eventType.isInterface() || Event.class.isAssignableFrom(eventType)) {
+            return;
+        }
+        for (Class<?> known : knownEventTypes) {
+            if (eventType.isAssignableFrom(known)) {
+                return;
+            }
+        }
+        for (RegisteredListener registered : list) {
+            log.warn("Event listener {}#{} listens to interface {}, but no known event implements it; "
+                            + "it only receives events whose class implements this interface",
+                    registered.listener().getClass().getName(), registered.method().getName(), eventType.getName());
+        }
+    }
+
     /**
      * 注销监听器对象
      * 移除该对象的所有监听器方法
      *
      * @param listener 监听器对象
      */
-    public void unregister(Object listener) {
+    public synchronized void unregister(Object listener) {
         if (listener == null || !registeredHandlers.contains(listener)) {
             return;
         }
 
         // 移除所有相关的监听器
-        listeners.values().forEach(priorityMap -> {
-            priorityMap.values().forEach(list -> {
-                list.removeIf(rl -> rl.listener() == listener);
-            });
+        listeners.values().removeIf(list -> {
+            list.removeIf(rl -> rl.listener() == listener);
+            return list.isEmpty();
         });
+        handlers.clear();
 
         registeredHandlers.remove(listener);
         log.debug("Unregistered event listener class: {}", listener.getClass().getName());
@@ -103,7 +220,8 @@ public class EventBus {
 
     /**
      * 发布事件
-     * 按优先级顺序调用所有匹配的监听器
+     * 按优先级顺序（EventPriority 的值从小到大）调用事件类及其所有父类型上的监听器
+     * 标记为 async 的监听器在同步监听器全部结束后交给异步事件线程执行；监听器返回的 CompletionStage 不会被等待
      *
      * @param event 要发布的事件
      */
@@ -112,58 +230,178 @@ public class EventBus {
             throw new IllegalArgumentException("Event cannot be null");
         }
 
-        Class<? extends Event> eventClass = event.getClass();
-        Map<EventPriority, List<RegisteredListener>> priorityMap = listeners.get(eventClass);
-
-        if (priorityMap == null || priorityMap.isEmpty()) {
-            return;
-        }
-
-        // 按优先级顺序执行（从高到低）
-        for (EventPriority priority : EventPriority.values()) {
-            List<RegisteredListener> priorityListeners = priorityMap.get(priority);
-            if (priorityListeners == null || priorityListeners.isEmpty()) {
+        RegisteredListener[] eventHandlers = getHandlers(event.getClass());
+        boolean timed = profiling;
+        // 统计时上一个监听器的结束时间作为下一个的开始时间，每个监听器只读一次时钟
+        long lastTick = timed ? System.nanoTime() : 0L;
+        boolean deferred = false;
+        for (RegisteredListener listener : eventHandlers) {
+            if (listener.async()) {
+                deferred = true;
                 continue;
             }
+            try {
+                // 检查是否忽略已取消的事件
+                if (event.isCancelled() && listener.ignoreCancelled()) {
+                    continue;
+                }
 
-            for (RegisteredListener listener : priorityListeners) {
+                if (!timed) {
+                    listener.invoke(event);
+                    continue;
+                }
                 try {
-                    // 检查是否忽略已取消的事件
-                    if (event.isCancelled() && listener.ignoreCancelled()) {
-                        continue;
-                    }
-
                     listener.invoke(event);
-                } catch (Exception e) {
-                    log.error("Error calling event listener: {}#{}",
-                            listener.listener().getClass().getName(),
-                            listener.method().getName(), e);
+                } finally {
+                    long now = System.nanoTime();
+                    // 输出了慢监听器警告时重新取时间，日志的耗时不计入下一个监听器
+                    lastTick = recordTiming(listener, event, now - lastTick) ? System.nanoTime() : now;
+                }
+            } catch (Throwable e) {
+                logListenerError(listener, e);
+                if (timed) {
+                    lastTick = System.nanoTime();
                 }
             }
         }
+
+        if (deferred && !getAsyncDispatcher().submit(() -> dispatchAsync(event, eventHandlers, 0, true, null))) {
+            log.warn("Async event queue is full, dropping async listeners of {}", event.getEventName());
+        }
     }
 
     /**
-     * 获取指定事件类型的所有监听器数量
+     * 在异步事件线程上发布事件
+     * 所有监听器（包括未标记 async 的）都在异步事件线程上按优先级顺序执行，返回 CompletionStage 的监听器完成后才执行下一个；
+     * 没有监听器时直接返回已完成的 future
+     *
+     * @param event 要发布的事件
+     * @return 所有监听器结束后以事件本身完成；队列已满时以 RejectedExecutionException 异常完成
+     * @throws IllegalArgumentException 事件带有 @SyncOnly
+     */
+    public <E extends Event> CompletableFuture<E> callEventAsync(E event) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+
+        if (SYNC_ONLY.get(event.getClass())) {
+            throw new IllegalArgumentException("Event " + event.getEventName() + " is @SyncOnly and cannot be called asynchronously");
+        }
+
+        RegisteredListener[] eventHandlers = getHandlers(event.getClass());
+        if (eventHandlers.length == 0) {
+            return CompletableFuture.completedFuture(event);
+        }
+        CompletableFuture<E> future = new CompletableFuture<>();
+        if (!getAsyncDispatcher().submit(() -> dispatchAsync(event, eventHandlers, 0, false, future))) {
+            future.completeExceptionally(new RejectedExecutionException("Async event queue is full"));
+        }
+        return future;
+    }
+
+    /**
+     * 发布指定类型的事件时是否有监听器会被调用（包括父类型上的监听器）
+     * 开销只有一次查表，热路径可以在没有监听器时跳过构造事件对象
+     *
+     * @param eventClass 事件类
+     * @return 有监听器时返回 true
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return getHandlers(eventClass).length > 0;
+    }
+
+    /**
+     * 获取发布指定类型的事件时会被调用的监听器数量（包括父类型上的监听器）
      *
      * @param eventClass 事件类
      * @return 监听器数量
      */
     public int getListenerCount(Class<? extends Event> eventClass) {
-        Map<EventPriority, List<RegisteredListener>> priorityMap = listeners.get(eventClass);
-        if (priorityMap == null) {
-            return 0;
+        return getHandlers(eventClass).length;
+    }
+
+    /**
+     * 是否正在记录监听器耗时
+     */
+    public boolean isProfiling() {
+        return profiling;
+    }
+
+    /**
+     * 开启或关闭监听器耗时统计，已记录的数据保留
+     *
+     * @param profiling 是否记录
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    /**
+     * 获取慢监听器阈值
+     */
+    public long getSlowListenerThreshold(TimeUnit unit) {
+        return unit.convert(slowListenerNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 设置慢监听器阈值：开启统计时，在事件循环上单次执行超过该时间的监听器会记录警告
+     *
+     * @param threshold 阈值，不大于 0 时不检查
+     * @param unit      时间单位
+     */
+    public void setSlowListenerThreshold(long threshold, TimeUnit unit) {
+        this.slowListenerNanos = Math.max(0, unit.toNanos(threshold));
+    }
+
+    /**
+     * 获取所有已注册监听器方法的调用统计
+     *
+     * @return 统计快照，按注册顺序
+     */
+    public synchronized List<ListenerStats> getListenerStats() {
+        List<ListenerStats> stats = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<RegisteredListener>> entry : listeners.entrySet()) {
+            for (RegisteredListener listener : entry.getValue()) {
+                ListenerTimings timings = listener.timings();
+                stats.add(new ListenerStats(timings.plugin, listener.listener().getClass().getName(),
+                        listener.method().getName(), entry.getKey(), timings.invocations.sum(),
+                        timings.totalNanos.sum(), timings.maxNanos.get(), timings.exceptions.sum()));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 清零所有监听器的调用统计
+     */
+    public synchronized void resetListenerStats() {
+        for (List<RegisteredListener> list : listeners.values()) {
+            for (RegisteredListener listener : list) {
+                listener.timings().reset();
+            }
+        }
+    }
+
+    /**
+     * 停止异步事件线程，等待已投递的任务执行完毕
+     */
+    public void shutdown() {
+        AsyncEventDispatcher dispatcher;
+        synchronized (this) {
+            dispatcher = asyncDispatcher;
+            asyncDispatcher = null;
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown(5, TimeUnit.SECONDS);
         }
-        return priorityMap.values().stream()
-                .mapToInt(List::size)
-                .sum();
     }
 
     /**
      * 清空所有监听器
      */
-    public void clear() {
+    public synchronized void clear() {
         listeners.clear();
+        handlers.clear();
         registeredHandlers.clear();
         log.info("EventBus cleared");
     }
@@ -177,6 +415,187 @@ public class EventBus {
 
     // 私有辅助方法
 
+    private AsyncEventDispatcher getAsyncDispatcher() {
+        AsyncEventDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher == null) {
+            synchronized (this) {
+                dispatcher = asyncDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = AsyncEventDispatcher.fromConfig();
+                    asyncDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * 从 start 开始依次调用监听器，遇到未完成的 CompletionStage 时返回，待其完成后重新投递继续执行
+     *
+     * @param asyncOnly 只调用标记为 async 的监听器（同步发布时延后执行的部分）
+     * @param future    全部结束后完成，可为 null
+     */
+    private <E extends Event> void dispatchAsync(E event, RegisteredListener[] eventHandlers, int start,
+                                                 boolean asyncOnly, CompletableFuture<E> future) {
+        boolean timed = profiling;
+        try {
+            for (int i = start; i < eventHandlers.length; i++) {
+                RegisteredListener listener = eventHandlers[i];
+                if (asyncOnly && !listener.async()) {
+                    continue;
+                }
+                try {
+                    if (event.isCancelled() && listener.ignoreCancelled()) {
+                        continue;
+                    }
+                    if (listener.continuation() == null) {
+                        if (timed) {
+                            invokeTimed(listener, event);
+                        } else {
+                            listener.invoke(event);
+                        }
+                        continue;
+                    }
+                    // 只统计方法本身的耗时，不包括等待返回的 CompletionStage
+                    CompletionStage<?> stage;
+                    if (timed) {
+                        long startTime = System.nanoTime();
+                        try {
+                            stage = listener.continuation().invoke(event);
+                        } finally {
+                            recordTiming(listener, event, System.nanoTime() - startTime);
+                        }
+                    } else {
+                        stage = listener.continuation().invoke(event);
+                    }
+                    if (stage == null) {
+                        continue;
+                    }
+                    if (stage instanceof CompletableFuture<?> completed && completed.isDone()) {
+                        // 已完成的直接取结果，异常在下面统一记录
+                        completed.join();
+                        continue;
+                    }
+                    int next = i + 1;
+                    stage.whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            logListenerError(listener, throwable);
+                        }
+                        Runnable resume = () -> dispatchAsync(event, eventHandlers, next, asyncOnly, future);
+                        // 队列已满时在完成该阶段的线程上继续，已经开始的分发不能丢弃
+                        if (!getAsyncDispatcher().submit(resume)) {
+                            resume.run();
+                        }
+                    });
+                    return;
+                } catch (Throwable e) {
+                    logListenerError(listener, e);
+                }
+            }
+            if (future != null) {
+                future.complete(event);
+            }
+        } catch (Throwable e) {
+            if (future != null) {
+                future.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    private void invokeTimed(RegisteredListener listener, Event event) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            listener.invoke(event);
+        } finally {
+            recordTiming(listener, event, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 记录一次调用的耗时
+     *
+     * @return 输出了慢监听器警告时返回 true
+     */
+    private boolean recordTiming(RegisteredListener listener, Event event, long nanos) {
+        listener.timings().record(nanos);
+        long threshold = slowListenerNanos;
+        // 只有阻塞网络线程的才需要警告，异步事件线程上的慢监听器只计入统计
+        if (threshold > 0 && nanos > threshold && ThreadExecutorMap.currentExecutor() instanceof EventLoop) {
+            long suppressed = listener.timings().acquireSlowWarning(System.nanoTime());
+            if (suppressed < 0) {
+                return false;
+            }
+            log.warn("Slow event listener on {}: {}#{} (plugin {}) took {} ms handling {}{}",
+                    Thread.currentThread().getName(), listener.listener().getClass().getName(),
+                    listener.method().getName(), listener.timings().plugin,
+                    String.format("%.2f", nanos / 1_000_000.0), event.getEventName(),
+                    suppressed > 0 ? " (" + suppressed + " similar warnings suppressed)" : "");
+            return true;
+        }
+        return false;
+    }
+
+    private static String pluginName(Class<?> listenerClass) {
+        if (listenerClass.getClassLoader() instanceof PluginClassLoader loader) {
+            return loader.getDescription().getName();
+        }
+        return "SliderProxy";
+    }
+
+    private static void logListenerError(RegisteredListener listener, Throwable e) {
+        listener.timings().exceptions.increment();
+        log.error("Error calling event listener: {}#{}",
+                listener.listener().getClass().getName(),
+                listener.method().getName(), e);
+    }
+
+    private RegisteredListener[] getHandlers(Class<?> eventClass) {
+        RegisteredListener[] eventHandlers = handlers.get(eventClass);
+        return eventHandlers != null ? eventHandlers : resolve(eventClass);
+    }
+
+    /**
+     * 解析具体事件类的监听器数组并缓存
+     * 与注册、注销持有同一把锁，失效之后不会再写入旧的解析结果
+     */
+    private synchronized RegisteredListener[] resolve(Class<?> eventClass) {
+        RegisteredListener[] resolved = handlers.get(eventClass);
+        if (resolved != null) {
+            return resolved;
+        }
+        knownEventTypes.add(eventClass);
+        List<RegisteredListener> matched = new ArrayList<>();
+        for (Class<?> type : TYPE_HIERARCHIES.get(eventClass)) {
+            List<RegisteredListener> list = listeners.get(type);
+            if (list != null) {
+                matched.addAll(list);
+            }
+        }
+        if (SYNC_ONLY.get(eventClass)) {
+            // 通过父类型收到 @SyncOnly 事件的 async 监听器改为同步执行
+            matched.replaceAll(listener -> listener.async() ? listener.synchronous() : listener);
+        }
+        // 稳定排序：同优先级时具体类型的监听器在前，同类型按注册顺序
+        resolved = matched.isEmpty() ? NO_LISTENERS : matched.toArray(NO_LISTENERS);
+        Arrays.sort(resolved, Comparator.comparingInt(rl -> rl.priority().getValue()));
+        handlers.put(eventClass, resolved);
+        return resolved;
+    }
+
+    private static void collectTypes(Class<?> type, Set<Class<?>> types) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            types.add(current);
+        }
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> anInterface : current.getInterfaces()) {
+                if (!types.contains(anInterface)) {
+                    collectTypes(anInterface, types);
+                }
+            }
+        }
+    }
+
     private void validateListenerMethod(Method method) {
         // 使用 trySetAccessible 替代 canAccess + setAccessible，避免某些情况下的访问问题
         if (!method.trySetAccessible()) {
@@ -190,25 +609,192 @@ public class EventBus {
                     "Event listener method must have exactly one parameter: " + method);
         }
 
-        if (!Event.class.isAssignableFrom(parameterTypes[0])) {
+        if (!Event.class.isAssignableFrom(parameterTypes[0]) && !parameterTypes[0].isInterface()) {
             throw new IllegalArgumentException(
-                    "Event listener method parameter must be an Event subclass: " + method);
+                    "Event listener method parameter must be an Event subclass or an interface: " + method);
         }
     }
 
-    private Class<? extends Event> getEventType(Method method) {
-        @SuppressWarnings("unchecked")
-        Class<? extends Event> eventType = (Class<? extends Event>) method.getParameterTypes()[0];
-        return eventType;
+    /**
+     * 为监听器方法生成调用器
+     * 通过 LambdaMetafactory 生成监听器类的嵌套成员类，位于监听器类所在的类加载器中，可以访问私有方法；
+     * 无法生成时回退到反射调用
+     */
+    private static EventExecutor createExecutor(Object listener, Method method) {
+        try {
+            if (method.getParameterTypes()[0].isInterface()) {
+                return createHandleExecutor(listener, method);
+            }
+            Map<Method, MethodHandle> factories = EXECUTOR_FACTORIES.get(method.getDeclaringClass());
+            MethodHandle factory = factories.get(method);
+            if (factory == null) {
+                factory = createExecutorFactory(method);
+                MethodHandle existing = factories.putIfAbsent(method, factory);
+                if (existing != null) {
+                    factory = existing;
+                }
+            }
+            return Modifier.isStatic(method.getModifiers())
+                    ? (EventExecutor) factory.invoke()
+                    : (EventExecutor) factory.invoke(listener);
+        } catch (Throwable e) {
+            log.warn("Cannot generate executor for {}, falling back to reflection", method, e);
+            return event -> {
+                try {
+                    method.invoke(listener, event);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            };
+        }
+    }
+
+    /**
+     * 生成调用器的工厂：实例方法接收监听器对象，静态方法无参数
+     */
+    private static MethodHandle createExecutorFactory(Method method) throws Throwable {
+        Class<?> declaringClass = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = lookupFor(declaringClass);
+        MethodType factoryType = Modifier.isStatic(method.getModifiers())
+                ? MethodType.methodType(EventExecutor.class)
+                : MethodType.methodType(EventExecutor.class, declaringClass);
+        CallSite callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "execute",
+                factoryType,
+                MethodType.methodType(void.class, Event.class),
+                lookup.unreflect(method),
+                MethodType.methodType(void.class, method.getParameterTypes()[0])
+        );
+        return callSite.getTarget();
+    }
+
+    /**
+     * 返回 CompletionStage 的监听器方法额外生成一个能取得返回值的调用器，供异步分发等待；其余方法返回 null
+     * 只在异步分发时使用，直接用绑定的 MethodHandle 调用
+     */
+    private static ContinuationInvoker createContinuation(Object listener, Method method) {
+        if (!CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            return null;
+        }
+        try {
+            MethodHandle handle = lookupFor(method.getDeclaringClass()).unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(listener);
+            }
+            MethodHandle target = handle.asType(MethodType.methodType(CompletionStage.class, Event.class));
+            return event -> (CompletionStage<?>) target.invokeExact(event);
+        } catch (Throwable e) {
+            log.warn("Cannot create continuation invoker for {}, falling back to reflection", method, e);
+            return event -> {
+                try {
+                    return (CompletionStage<?>) method.invoke(listener, event);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            };
+        }
+    }
+
+    /**
+     * 参数为接口的监听器方法：接口不是 Event 的子类型，LambdaMetafactory 无法适配，改用绑定的 MethodHandle
+     */
+    private static EventExecutor createHandleExecutor(Object listener, Method method) throws Throwable {
+        MethodHandle handle = lookupFor(method.getDeclaringClass()).unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(listener);
+        }
+        MethodHandle target = handle.asType(MethodType.methodType(void.class, Event.class));
+        return event -> {
+            // 语句形式才会按 (Event)void 调用，表达式 lambda 会被推断为返回 Object
+            target.invokeExact(event);
+        };
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> declaringClass) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        if (!lookup.hasFullPrivilegeAccess() && declaringClass.getClassLoader() instanceof PluginClassLoader loader) {
+            // 插件类在另一个模块中，改用插件类加载器提供的 Lookup 才能取得完整权限
+            lookup = MethodHandles.privateLookupIn(declaringClass, loader.getLookup());
+        }
+        return lookup;
+    }
+
+    /**
+     * 取得监听器方法返回的 CompletionStage
+     */
+    @FunctionalInterface
+    private interface ContinuationInvoker {
+        CompletionStage<?> invoke(Event event) throws Throwable;
+    }
+
+    /**
+     * 单个监听器方法的调用统计，多个线程同时分发时并发累加
+     */
+    private static final class ListenerTimings {
+        final String plugin;
+        final LongAdder invocations = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder exceptions = new LongAdder();
+        // 下一次允许输出慢监听器警告的时间，MIN_VALUE 表示还没有警告过
+        final AtomicLong nextSlowWarning = new AtomicLong(Long.MIN_VALUE);
+        final LongAdder suppressedSlowWarnings = new LongAdder();
+
+        ListenerTimings(String plugin) {
+            this.plugin = plugin;
+        }
+
+        void record(long nanos) {
+            invocations.increment();
+            totalNanos.add(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        /**
+         * 尝试取得输出慢监听器警告的机会：第一次总是允许，之后每个间隔最多一次
+         *
+         * @return 允许时返回上次警告以来被抑制的次数，不允许时返回 -1
+         */
+        long acquireSlowWarning(long now) {
+            long next = nextSlowWarning.get();
+            if ((next != Long.MIN_VALUE && now - next < 0)
+                    || !nextSlowWarning.compareAndSet(next, now + SLOW_WARNING_INTERVAL_NANOS)) {
+                suppressedSlowWarnings.increment();
+                return -1;
+            }
+            return suppressedSlowWarnings.sumThenReset();
+        }
+
+        void reset() {
+            invocations.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            exceptions.reset();
+        }
     }
 
     /**
      * 内部类：注册的监听器包装器
+     *
+     * @param continuation 监听器方法返回 CompletionStage 时不为 null
      */
-    private record RegisteredListener(Object listener, Method method, EventPriority priority, boolean ignoreCancelled) {
+    private record RegisteredListener(Object listener, Method method, EventExecutor executor,
+                                      ContinuationInvoker continuation, EventPriority priority,
+                                      boolean ignoreCancelled, boolean async, ListenerTimings timings) {
+
+        public void invoke(Event event) throws Throwable {
+            executor.execute(event);
+        }
 
-        public void invoke(Event event) throws Exception {
-            method.invoke(listener, event);
+        /**
+         * 同一监听器的同步执行版本，共用调用统计
+         */
+        RegisteredListener synchronous() {
+            return new RegisteredListener(listener, method, executor, continuation, priority, ignoreCancelled, false, timings);
         }
     }
 }
@@ -0,0 +1,17 @@
+package net.slidermc.sliderproxy.api.event;
+
+/**
+ * 监听器方法的调用器
+ * 注册时由 EventBus 为每个 @EventListener 方法生成，已绑定监听器对象，直接调用目标方法而不经过反射
+ * 需要对插件类加载器可见，因此为 public，插件不应自行实现
+ */
+@FunctionalInterface
+public interface EventExecutor {
+    /**
+     * 以事件调用监听器方法
+     *
+     * @param event 事件，类型与监听器方法的参数一致
+     * @throws Throwable 监听器方法抛出的异常
+     */
+    void execute(Event event) throws Throwable;
+}
@@ -5,6 +5,7 @@ import java.lang.annotation.*;
 /**
  * 事件监听器注解
  * 用于标记方法为事件监听器
+ * 监听器会收到参数类型及其所有子类型的事件，例如监听 PlayerEvent 可以收到所有玩家相关事件；参数也可以是事件实现的接口
  * <p>
  * 使用示例：
  * <pre>
@@ -17,6 +18,12 @@ import java.lang.annotation.*;
  * public void onChat(ChatEvent event) {
  *     // 高优先级监听
  * }
+ *
+ * &#064;EventListener
+ * public CompletableFuture&lt;Void&gt; onLogin(PlayerLoginEvent event) {
+ *     // 异步查询，登录流程会等待其完成，不阻塞网络线程
+ *     return database.loadAsync(event.getPlayer().getName()).thenAccept(...);
+ * }
  * </pre>
  */
 @Target(ElementType.METHOD)
@@ -35,4 +42,15 @@ public @interface EventListener {
      * @return true 表示忽略已取消的事件，默认为 false
      */
     boolean ignoreCancelled() default false;
+
+    /**
+     * 是否在异步事件线程上执行
+     * 同步发布 (callEvent) 时不在调用线程执行，而是在所有同步监听器结束后交给异步事件线程，无法影响调用方看到的结果；
+     * 适合数据库、网络请求等耗时操作。通过 callEventAsync 发布时所有监听器本来就在异步事件线程上执行。
+     * 带有 @SyncOnly 的事件（如 PacketReceiveEvent）不能异步监听
+     * <p>
+     * 监听器方法也可以返回 CompletionStage：通过 callEventAsync 发布时，后续监听器会等它完成后再执行
+     * @return true 表示异步执行，默认为 false
+     */
+    boolean async() default false;
 }
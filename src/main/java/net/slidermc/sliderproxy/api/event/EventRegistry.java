@@ -3,6 +3,8 @@ package net.slidermc.sliderproxy.api.event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 事件注册器 - 提供全局的事件管理功能
  * 单例模式，整个代理服务器共享一个事件总线
@@ -62,6 +64,16 @@ public class EventRegistry {
         getInstance().eventBus.callEvent(event);
     }
 
+    /**
+     * 在异步事件线程上发布事件，不阻塞调用线程
+     *
+     * @param event 要发布的事件
+     * @return 所有监听器结束后以事件本身完成
+     */
+    public static <E extends Event> CompletableFuture<E> callEventAsync(E event) {
+        return getInstance().eventBus.callEventAsync(event);
+    }
+
     /**
      * 获取事件总线
      *
@@ -81,6 +93,23 @@ public class EventRegistry {
         return getInstance().eventBus.getListenerCount(eventClass);
     }
 
+    /**
+     * 指定事件是否有监听器，热路径可以据此跳过构造事件对象
+     *
+     * @param eventClass 事件类
+     * @return 有监听器时返回 true
+     */
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        return getInstance().eventBus.hasListeners(eventClass);
+    }
+
+    /**
+     * 停止异步事件线程，代理关闭时调用
+     */
+    public static void shutdown() {
+        getInstance().eventBus.shutdown();
+    }
+
     /**
      * 清空所有监听器（主要用于测试）
      */
@@ -0,0 +1,25 @@
+package net.slidermc.sliderproxy.api.event;
+
+/**
+ * 单个监听器方法的调用统计快照，由 EventBus#getListenerStats 生成
+ * 调用次数与耗时只在开启统计（events.profiling.enabled）期间记录，异常次数始终记录
+ *
+ * @param plugin      所属插件名，代理自身的监听器为 SliderProxy
+ * @param listener    监听器类名
+ * @param method      监听器方法名
+ * @param eventType   监听的事件类型
+ * @param invocations 调用次数
+ * @param totalNanos  累计耗时（纳秒）
+ * @param maxNanos    单次最大耗时（纳秒）
+ * @param exceptions  抛出异常的次数
+ */
+public record ListenerStats(String plugin, String listener, String method, Class<?> eventType,
+                            long invocations, long totalNanos, long maxNanos, long exceptions) {
+
+    /**
+     * 平均每次调用的耗时（纳秒），没有调用时为 0
+     */
+    public long averageNanos() {
+        return invocations == 0 ? 0 : totalNanos / invocations;
+    }
+}
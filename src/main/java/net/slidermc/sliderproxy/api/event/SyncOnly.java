@@ -0,0 +1,21 @@
+package net.slidermc.sliderproxy.api.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记只能同步处理的事件
+ * 这类事件携带的数据（如数据包对象）在 callEvent 返回后就会被转发、释放或复用，异步执行的监听器拿到时已经失效：
+ * 直接监听这类事件的方法不能声明 async = true（注册时抛出 IllegalArgumentException），
+ * 通过父类型收到这类事件的 async 监听器改为同步执行；也不能通过 callEventAsync 发布
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SyncOnly {
+}
@@ -2,6 +2,7 @@ package net.slidermc.sliderproxy.api.event.events;
 
 import io.netty.channel.ChannelHandlerContext;
 import net.slidermc.sliderproxy.api.event.Event;
+import net.slidermc.sliderproxy.api.event.SyncOnly;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
@@ -9,7 +10,9 @@ import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 /**
  * 数据包接收事件
  * 在代理接收到数据包时触发（无论是来自客户端还是服务器）
+ * 事件中的数据包在事件结束后即被转发或释放，监听器必须同步处理
  */
+@SyncOnly
 public class PacketReceiveEvent extends Event {
     private final ProxiedPlayer player;
     private IMinecraftPacket packet;
@@ -45,9 +48,14 @@ public class PacketReceiveEvent extends Event {
 
     /**
      * 设置数据包（可以替换为其他数据包）
+     * 被设置的数据包总会重新编码，被替换的原数据包保留的原始帧会被释放
      * @param packet 新的数据包
      */
     public void setPacket(IMinecraftPacket packet) {
+        if (this.packet != packet) {
+            this.packet.release();
+        }
+        packet.markDirty();
         this.packet = packet;
     }
 
@@ -2,6 +2,7 @@ package net.slidermc.sliderproxy.api.event.events;
 
 import io.netty.channel.ChannelHandlerContext;
 import net.slidermc.sliderproxy.api.event.Event;
+import net.slidermc.sliderproxy.api.event.SyncOnly;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
@@ -9,7 +10,9 @@ import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 /**
  * 数据包发送事件
  * 在代理发送数据包时触发（无论是发送给客户端还是服务器）
+ * 事件中的数据包在事件结束后即被转发或释放，监听器必须同步处理
  */
+@SyncOnly
 public class PacketSendEvent extends Event {
     private final ProxiedPlayer player;
     private IMinecraftPacket packet;
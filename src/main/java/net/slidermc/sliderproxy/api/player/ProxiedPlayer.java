@@ -12,6 +12,7 @@ import net.slidermc.sliderproxy.api.server.ProxiedServer;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.netty.OutboundMailbox;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 import net.slidermc.sliderproxy.network.packet.clientbound.configuration.ClientboundDisconnectConfigurationPacket;
 import net.slidermc.sliderproxy.network.packet.clientbound.login.ClientboundDisconnectLoginPacket;
@@ -47,6 +48,7 @@ public class ProxiedPlayer {
     private volatile ProxiedServer connectedServer = null;
     private final List<ClientboundSystemChatPacket> needSendChatPackets = new CopyOnWriteArrayList<>();
 
+    // 坐标仅在移动包被解码时更新；按需解码开启且无 PlayerPositionEvent 监听器时不会更新
     private double x = 0, y = 0, z = 0;
     private float yaw = 0, pitch = 0;
 
@@ -130,7 +132,7 @@ public class ProxiedPlayer {
         if (downstreamClient != null) {
             downstreamClient.disconnect();
         }
-        downstreamClient = new MinecraftNettyClient(server.getAddress(), this);
+        downstreamClient = new MinecraftNettyClient(server, this);
     }
 
     /**
@@ -151,8 +153,11 @@ public class ProxiedPlayer {
         return request != null && request.getReason() == ConnectRequest.ConnectReason.SERVER_SWITCH;
     }
 
+    /**
+     * 向客户端发送数据包，可在任意线程调用；事件循环外的调用经由出站邮箱批量写出
+     */
     public void sendPacket(IMinecraftPacket packet) {
-        playerConnection.getUpstreamChannel().writeAndFlush(packet);
+        OutboundMailbox.of(playerConnection.getUpstreamChannel()).send(packet);
     }
 
     public void kick(Component reason) {
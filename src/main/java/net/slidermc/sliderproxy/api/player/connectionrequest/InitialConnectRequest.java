@@ -3,6 +3,7 @@ package net.slidermc.sliderproxy.api.player.connectionrequest;
 import io.netty.channel.Channel;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.slidermc.sliderproxy.RunningData;
 import net.slidermc.sliderproxy.api.event.EventRegistry;
 import net.slidermc.sliderproxy.api.event.events.PlayerJoinEvent;
 import net.slidermc.sliderproxy.api.event.events.ServerConnectedEvent;
@@ -10,7 +11,9 @@ import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.api.server.ProxiedServer;
 import net.slidermc.sliderproxy.network.ProtocolState;
+import net.slidermc.sliderproxy.network.netty.CompressionHandlers;
 import net.slidermc.sliderproxy.network.packet.clientbound.login.ClientboundLoginSuccessPacket;
+import net.slidermc.sliderproxy.network.packet.clientbound.login.ClientboundSetCompressionPacket;
 import net.slidermc.sliderproxy.translate.TranslateManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,6 +73,9 @@ public class InitialConnectRequest extends ConnectRequest {
                 try {
                     Channel ch = player.getPlayerConnection().getUpstreamChannel();
 
+                    // 压缩必须在登录成功前协商
+                    enableClientCompression(ch);
+
                     // 发送登录成功包
                     ClientboundLoginSuccessPacket loginSuccessPacket = new ClientboundLoginSuccessPacket(
                             player.getGameProfile().uuid(),
@@ -91,6 +97,30 @@ public class InitialConnectRequest extends ConnectRequest {
         });
     }
 
+    /**
+     * 与客户端协商压缩，阈值取自 proxy.compress-threshold（负数为关闭）
+     * 启用压缩透传且子服务器开启了压缩时，客户端沿用子服务器的阈值，使无需解码的压缩包可以原样转发
+     */
+    private void enableClientCompression(Channel ch) {
+        int threshold = RunningData.configuration != null
+                ? RunningData.configuration.getInt("proxy.compress-threshold", 256)
+                : 256;
+        if (CompressionHandlers.isPassthroughEnabled()) {
+            int backendThreshold = CompressionHandlers.getThreshold(player.getDownstreamClient().getChannel().pipeline());
+            if (backendThreshold >= 0) {
+                threshold = backendThreshold;
+            }
+        }
+        if (threshold < 0) {
+            return;
+        }
+        // SetCompression 本身不压缩，写出后再安装处理器
+        ch.writeAndFlush(new ClientboundSetCompressionPacket(threshold));
+        CompressionHandlers.install(ch.pipeline(), threshold);
+        player.getPlayerConnection().setUpstreamCompressionThreshold(threshold);
+        log.debug("已为玩家 {} 启用压缩，阈值: {}", player.getName(), threshold);
+    }
+
     @Override
     protected void handleConnectFailure(Throwable throwable) {
         // 断开下游客户端（如果有）
@@ -7,6 +7,7 @@ import net.slidermc.sliderproxy.api.event.events.ServerSwitchEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.api.server.ProxiedServer;
+import net.slidermc.sliderproxy.network.EventLoopManager;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
 import net.slidermc.sliderproxy.network.packet.clientbound.play.ClientboundStartConfigurationPacket;
@@ -57,7 +58,7 @@ public class ServerSwitchRequest extends ConnectRequest {
         MinecraftNettyClient oldClient = player.getDownstreamClient();
 
         // 创建新的下游客户端（不断开旧连接）
-        newDownstreamClient = new MinecraftNettyClient(targetServer.getAddress(), player);
+        newDownstreamClient = new MinecraftNettyClient(targetServer, player);
 
         // 第一步：先连接新的下游服务器
         return newDownstreamClient.connectAsync()
@@ -99,7 +100,15 @@ public class ServerSwitchRequest extends ConnectRequest {
                     PlayerManager.getInstance().updateDownstreamChannel(player, newChannel);
 
                     // 恢复新下游的自动读取
-                    newChannel.config().setAutoRead(true);
+                    if (EventLoopManager.getInstance().isBackpressureEnabled()) {
+                        // 客户端不可写时保持暂停，由背压在其恢复可写时打开
+                        Channel upstreamChannel = player.getPlayerConnection().getUpstreamChannel();
+                        newChannel.config().setAutoRead(upstreamChannel.isWritable());
+                        // 旧下游可能因背压暂停了客户端读取，按新下游的可写状态重新设置
+                        upstreamChannel.config().setAutoRead(newChannel.isWritable());
+                    } else {
+                        newChannel.config().setAutoRead(true);
+                    }
 
                     updatePlayerConnection();
                     
@@ -5,6 +5,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Enumeration;
@@ -20,6 +22,7 @@ public class PluginClassLoader extends URLClassLoader {
     private final PluginDescription description;
     private final PluginManager pluginManager;
     private final Set<String> loadedClasses = new HashSet<>();
+    private volatile MethodHandles.Lookup lookup;
 
     // 允许访问的包（API包）
     private static final Set<String> ALLOWED_PACKAGES = Set.of(
@@ -174,6 +177,39 @@ public class PluginClassLoader extends URLClassLoader {
         return new HashSet<>(loadedClasses);
     }
 
+    /**
+     * 获取插件所在模块内具有完整权限的 Lookup
+     * 插件类位于本加载器的未命名模块，代理核心通过 privateLookupIn 只能得到不含模块权限的 Lookup，
+     * 无法用于 LambdaMetafactory；这里把 PluginLookup 的字节码在本加载器中重新定义一份来取得
+     */
+    public MethodHandles.Lookup getLookup() throws ReflectiveOperationException {
+        MethodHandles.Lookup result = lookup;
+        if (result == null) {
+            synchronized (this) {
+                result = lookup;
+                if (result == null) {
+                    byte[] bytes = readLookupClass();
+                    Class<?> clazz = defineClass(PluginLookup.class.getName(), bytes, 0, bytes.length);
+                    result = (MethodHandles.Lookup) clazz.getMethod("lookup").invoke(null);
+                    lookup = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static byte[] readLookupClass() throws ClassNotFoundException {
+        String resource = PluginLookup.class.getSimpleName() + ".class";
+        try (InputStream in = PluginLookup.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new ClassNotFoundException("Missing class file " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new ClassNotFoundException("Cannot read class file " + resource, e);
+        }
+    }
+
     /**
      * 获取插件描述
      */
@@ -0,0 +1,18 @@
+package net.slidermc.sliderproxy.api.plugin;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * 插件模块内 Lookup 的来源
+ * PluginClassLoader 会读取本类编译后的字节码，在每个插件类加载器中重新定义一份，
+ * 从而取得插件所在模块内具有完整权限的 Lookup；代理自身加载的这份不会被直接使用
+ */
+public final class PluginLookup {
+
+    private PluginLookup() {
+    }
+
+    public static MethodHandles.Lookup lookup() {
+        return MethodHandles.lookup();
+    }
+}
@@ -7,13 +7,21 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ProxiedServer {
+    public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+
     private final InetSocketAddress address;
     private final String name;
+    private final int connectTimeout; // 毫秒
     private final List<ProxiedPlayer> connectedPlayers = new CopyOnWriteArrayList<>();
 
     public ProxiedServer(InetSocketAddress address, String name) {
+        this(address, name, DEFAULT_CONNECT_TIMEOUT);
+    }
+
+    public ProxiedServer(InetSocketAddress address, String name, int connectTimeout) {
         this.address = address;
         this.name = name;
+        this.connectTimeout = connectTimeout > 0 ? connectTimeout : DEFAULT_CONNECT_TIMEOUT;
     }
 
     public InetSocketAddress getAddress() {
@@ -24,6 +32,13 @@ public class ProxiedServer {
         return name;
     }
 
+    /**
+     * 连接到该服务器的 TCP 超时时间（毫秒）
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
     public List<ProxiedPlayer> getConnectedPlayers() {
         return connectedPlayers;
     }
@@ -8,12 +8,21 @@ import net.slidermc.sliderproxy.ShutdownManager;
 import net.slidermc.sliderproxy.api.command.CommandManager;
 import net.slidermc.sliderproxy.api.command.CommandSource;
 import net.slidermc.sliderproxy.api.command.SimpleCommand;
+import net.slidermc.sliderproxy.api.event.EventBus;
+import net.slidermc.sliderproxy.api.event.EventRegistry;
+import net.slidermc.sliderproxy.api.event.ListenerStats;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * SliderProxy 主命令
- * 用法: /sliderproxy <help|stop|reload|version>
+ * 用法: /sliderproxy <help|stop|reload|version|events>
  */
 public class SliderProxyCommand extends SimpleCommand {
+    /** /sliderproxy events 显示的监听器数量 */
+    private static final int TOP_LISTENERS = 10;
 
     public SliderProxyCommand() {
         super("sliderproxy", "SliderProxy 主命令", 0);
@@ -37,6 +46,15 @@ public class SliderProxyCommand extends SimpleCommand {
                 // /sliderproxy reload
                 .then(LiteralArgumentBuilder.<CommandSource>literal("reload")
                         .executes(this::executeReload))
+                // /sliderproxy events [on|off|reset]
+                .then(LiteralArgumentBuilder.<CommandSource>literal("events")
+                        .then(LiteralArgumentBuilder.<CommandSource>literal("on")
+                                .executes(context -> executeEventsProfiling(context, true)))
+                        .then(LiteralArgumentBuilder.<CommandSource>literal("off")
+                                .executes(context -> executeEventsProfiling(context, false)))
+                        .then(LiteralArgumentBuilder.<CommandSource>literal("reset")
+                                .executes(this::executeEventsReset))
+                        .executes(this::executeEvents))
                 // 无参数时显示帮助
                 .executes(this::executeHelp);
     }
@@ -54,6 +72,7 @@ public class SliderProxyCommand extends SimpleCommand {
         source.sendMessage(Component.text("  /sliderproxy stop - 关闭代理服务器", NamedTextColor.GRAY));
         source.sendMessage(Component.text("  /sliderproxy version - 显示版本信息", NamedTextColor.GRAY));
         source.sendMessage(Component.text("  /sliderproxy reload - 重载配置文件", NamedTextColor.GRAY));
+        source.sendMessage(Component.text("  /sliderproxy events [on|off|reset] - 查看最耗时的事件监听器 / 开关或清零统计", NamedTextColor.GRAY));
         source.sendMessage(Component.text(""));
         source.sendMessage(Component.text("已注册的命令:", NamedTextColor.YELLOW));
         
@@ -123,4 +142,82 @@ public class SliderProxyCommand extends SimpleCommand {
         
         return 1;
     }
+
+    /**
+     * 显示累计耗时最多的事件监听器
+     */
+    private int executeEvents(CommandContext<CommandSource> context) {
+        CommandSource source = context.getSource();
+
+        // 只允许控制台执行
+        if (source.isPlayer()) {
+            source.sendMessage(Component.text("此命令只能在控制台执行！", NamedTextColor.RED));
+            return 0;
+        }
+
+        EventBus eventBus = EventRegistry.getInstance().getEventBus();
+        source.sendMessage(Component.text("=== 事件监听器耗时 ===", NamedTextColor.GOLD));
+        source.sendMessage(Component.text("统计: " + (eventBus.isProfiling() ? "开启" : "关闭")
+                + "，慢监听器阈值: " + eventBus.getSlowListenerThreshold(TimeUnit.MILLISECONDS) + " ms",
+                eventBus.isProfiling() ? NamedTextColor.GREEN : NamedTextColor.YELLOW));
+
+        List<ListenerStats> top = eventBus.getListenerStats().stream()
+                .filter(stats -> stats.invocations() > 0 || stats.exceptions() > 0)
+                .sorted(Comparator.comparingLong(ListenerStats::totalNanos).reversed()
+                        .thenComparing(Comparator.comparingLong(ListenerStats::exceptions).reversed()))
+                .limit(TOP_LISTENERS)
+                .toList();
+        if (top.isEmpty()) {
+            source.sendMessage(Component.text("暂无数据，使用 /sliderproxy events on 开启统计", NamedTextColor.GRAY));
+            return 1;
+        }
+
+        for (ListenerStats stats : top) {
+            String listenerName = stats.listener().substring(stats.listener().lastIndexOf('.') + 1);
+            source.sendMessage(Component.text("  [" + stats.plugin() + "] " + listenerName + "#" + stats.method()
+                    + " (" + stats.eventType().getSimpleName() + ")", NamedTextColor.YELLOW));
+            source.sendMessage(Component.text(String.format("    调用 %d 次，总计 %.2f ms，平均 %.3f ms，最大 %.2f ms，异常 %d 次",
+                    stats.invocations(), stats.totalNanos() / 1_000_000.0, stats.averageNanos() / 1_000_000.0,
+                    stats.maxNanos() / 1_000_000.0, stats.exceptions()),
+                    stats.exceptions() > 0 ? NamedTextColor.RED : NamedTextColor.GRAY));
+        }
+
+        return 1;
+    }
+
+    /**
+     * 开启或关闭事件监听器耗时统计
+     */
+    private int executeEventsProfiling(CommandContext<CommandSource> context, boolean enabled) {
+        CommandSource source = context.getSource();
+
+        // 只允许控制台执行
+        if (source.isPlayer()) {
+            source.sendMessage(Component.text("此命令只能在控制台执行！", NamedTextColor.RED));
+            return 0;
+        }
+
+        EventRegistry.getInstance().getEventBus().setProfiling(enabled);
+        source.sendMessage(Component.text(enabled ? "已开启事件监听器耗时统计" : "已关闭事件监听器耗时统计", NamedTextColor.GREEN));
+
+        return 1;
+    }
+
+    /**
+     * 清零事件监听器耗时统计
+     */
+    private int executeEventsReset(CommandContext<CommandSource> context) {
+        CommandSource source = context.getSource();
+
+        // 只允许控制台执行
+        if (source.isPlayer()) {
+            source.sendMessage(Component.text("此命令只能在控制台执行！", NamedTextColor.RED));
+            return 0;
+        }
+
+        EventRegistry.getInstance().getEventBus().resetListenerStats();
+        source.sendMessage(Component.text("已清零事件监听器耗时统计", NamedTextColor.GREEN));
+
+        return 1;
+    }
 }
@@ -0,0 +1,200 @@
+package net.slidermc.sliderproxy.network;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 全局 EventLoop 管理器
+ * 代理监听与下游连接共用同一组 EventLoop，下游 Channel 优先注册到玩家上游 Channel 所在的 EventLoop，
+ * 避免每个下游连接单独创建线程组，同时让上下游转发走 inEventLoop() 快速路径
+ */
+public class EventLoopManager {
+    private static final Logger log = LoggerFactory.getLogger(EventLoopManager.class);
+    private static final EventLoopManager INSTANCE = new EventLoopManager();
+
+    private TransportType transport;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+
+    private EventLoopManager() {}
+
+    public static EventLoopManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取当前使用的传输方式，首次调用时根据 network.transport 配置选择
+     */
+    public synchronized TransportType getTransport() {
+        if (transport == null) {
+            transport = resolveTransport();
+            log.info("网络传输方式: {}", transport.getConfigName());
+        }
+        return transport;
+    }
+
+    private TransportType resolveTransport() {
+        String configured = "auto";
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration != null) {
+            configured = configuration.getString("network.transport", "auto");
+        }
+
+        TransportType type = TransportType.fromConfigName(configured);
+        if (type == null) {
+            if (!"auto".equalsIgnoreCase(configured.trim())) {
+                log.warn("未知的网络传输方式: {}，将自动选择", configured);
+            }
+            return autoTransport();
+        }
+        if (!type.isAvailable()) {
+            TransportType fallback = autoTransport();
+            log.warn("当前系统不支持 {} 传输，回退到 {}", type.getConfigName(), fallback.getConfigName());
+            return fallback;
+        }
+        return type;
+    }
+
+    /**
+     * 自动选择传输方式，原生传输不可用（如当前架构没有对应的原生库）时说明原因
+     */
+    private static TransportType autoTransport() {
+        TransportType type = TransportType.best();
+        if (type == TransportType.NIO) {
+            Throwable cause = TransportType.EPOLL.getUnavailabilityCause();
+            log.info("epoll 原生传输不可用 ({} {})，使用 nio: {}", System.getProperty("os.name"),
+                    System.getProperty("os.arch"), cause != null ? cause.toString() : "unknown");
+        }
+        return type;
+    }
+
+    /**
+     * 获取 boss 线程组（仅用于 accept）
+     */
+    public synchronized EventLoopGroup getBossGroup() {
+        if (bossGroup == null) {
+            bossGroup = getTransport().newEventLoopGroup(1, new DefaultThreadFactory("SliderProxy-Boss"));
+        }
+        return bossGroup;
+    }
+
+    /**
+     * 获取全局 worker 线程组，上游连接与无法绑定上游的下游连接共用
+     */
+    public synchronized EventLoopGroup getWorkerGroup() {
+        if (workerGroup == null) {
+            int threads = 0; // 0 表示使用 Netty 默认值 (CPU核心数*2)
+            YamlConfiguration configuration = RunningData.configuration;
+            if (configuration != null) {
+                threads = Math.max(0, configuration.getInt("network.worker-threads", 0));
+            }
+            workerGroup = getTransport().newEventLoopGroup(threads, new DefaultThreadFactory("SliderProxy-Worker"));
+        }
+        return workerGroup;
+    }
+
+    /**
+     * 为下游连接选择 EventLoop：优先使用上游 Channel 的 EventLoop，否则从全局 worker 组中选取
+     */
+    @NotNull
+    public EventLoop getBackendEventLoop(@Nullable Channel upstreamChannel) {
+        if (upstreamChannel != null && upstreamChannel.isRegistered()) {
+            return upstreamChannel.eventLoop();
+        }
+        return getWorkerGroup().next();
+    }
+
+    /**
+     * 读取写缓冲区水位线配置，超过高水位时 Channel 变为不可写，用于上下游之间的背压
+     */
+    @NotNull
+    public WriteBufferWaterMark getWriteBufferWaterMark() {
+        int low = 512 * 1024;
+        int high = 2 * 1024 * 1024;
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration != null) {
+            low = Math.max(0, configuration.getInt("network.write-buffer-low-water-mark", low));
+            high = Math.max(low, configuration.getInt("network.write-buffer-high-water-mark", high));
+        }
+        return new WriteBufferWaterMark(low, high);
+    }
+
+    /**
+     * 是否启用上下游之间的背压（写缓冲区超过高水位时暂停读取另一端）
+     */
+    public boolean isBackpressureEnabled() {
+        YamlConfiguration configuration = RunningData.configuration;
+        return configuration == null || configuration.getBoolean("network.backpressure", true);
+    }
+
+    /**
+     * 为监听端应用传输相关的 Socket 选项
+     */
+    public void configureServerBootstrap(@NotNull ServerBootstrap bootstrap) {
+        TransportType type = getTransport();
+        bootstrap.channel(type.getServerChannelClass());
+        bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark());
+
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration == null || !type.isNative()) {
+            return;
+        }
+        ChannelOption<Integer> fastOpen = type.getServerFastOpenOption();
+        if (configuration.getBoolean("network.tcp-fastopen", false) && fastOpen != null) {
+            bootstrap.option(fastOpen, configuration.getInt("network.tcp-fastopen-queue", 256));
+        }
+        ChannelOption<Boolean> quickAck = type.getQuickAckOption();
+        if (configuration.getBoolean("network.tcp-quickack", false) && quickAck != null) {
+            bootstrap.childOption(quickAck, true);
+        }
+    }
+
+    /**
+     * 为下游连接应用传输相关的 Socket 选项
+     */
+    public void configureClientBootstrap(@NotNull Bootstrap bootstrap) {
+        TransportType type = getTransport();
+        bootstrap.channel(type.getSocketChannelClass());
+        bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark());
+
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration == null || !type.isNative()) {
+            return;
+        }
+        ChannelOption<Boolean> fastOpen = type.getClientFastOpenOption();
+        if (configuration.getBoolean("network.tcp-fastopen", false) && fastOpen != null) {
+            bootstrap.option(fastOpen, true);
+        }
+        ChannelOption<Boolean> quickAck = type.getQuickAckOption();
+        if (configuration.getBoolean("network.tcp-quickack", false) && quickAck != null) {
+            bootstrap.option(quickAck, true);
+        }
+    }
+
+    /**
+     * 关闭所有线程组
+     */
+    public synchronized void shutdown() {
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully();
+            workerGroup = null;
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+            bossGroup = null;
+        }
+        log.debug("EventLoop 线程组已关闭");
+    }
+}
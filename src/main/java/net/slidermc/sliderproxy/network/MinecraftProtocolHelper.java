@@ -1,6 +1,7 @@
 package net.slidermc.sliderproxy.network;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import net.kyori.adventure.key.Key;
 
 import java.nio.charset.StandardCharsets;
@@ -8,10 +9,51 @@ import java.util.UUID;
 import java.util.function.Function;
 
 public class MinecraftProtocolHelper {
+    /**
+     * VarInt 的最大字节长度
+     */
+    public static final int MAX_VARINT_SIZE = 5;
+
     /**
      * 读取 Minecraft VarInt
+     * 可读字节不少于 4 时用一次 getIntLE 取出前 4 个字节再按位展开，1-4 字节的 VarInt 不再逐字节读取；数据不完整时返回 -1
      */
     public static int readVarInt(ByteBuf buf) {
+        int readerIndex = buf.readerIndex();
+        if (buf.writerIndex() - readerIndex < 4) {
+            return readVarIntSlow(buf);
+        }
+        int bytes = buf.getIntLE(readerIndex);
+        if ((bytes & 0x80) == 0) {
+            buf.readerIndex(readerIndex + 1);
+            return bytes & 0x7F;
+        }
+        int result = bytes & 0x7F;
+        if ((bytes & 0x8000) == 0) {
+            buf.readerIndex(readerIndex + 2);
+            return result | (bytes & 0x7F00) >>> 1;
+        }
+        result |= (bytes & 0x7F00) >>> 1;
+        if ((bytes & 0x800000) == 0) {
+            buf.readerIndex(readerIndex + 3);
+            return result | (bytes & 0x7F0000) >>> 2;
+        }
+        result |= (bytes & 0x7F0000) >>> 2;
+        if ((bytes & 0x80000000) == 0) {
+            buf.readerIndex(readerIndex + 4);
+            return result | (bytes & 0x7F000000) >>> 3;
+        }
+        result |= (bytes & 0x7F000000) >>> 3;
+        if (buf.writerIndex() - readerIndex < 5) {
+            return -1; // 数据不完整
+        }
+        byte last = buf.getByte(readerIndex + 4);
+        if ((last & 0x80) != 0) throw new RuntimeException("VarInt too big");
+        buf.readerIndex(readerIndex + 5);
+        return result | last << 28;
+    }
+
+    private static int readVarIntSlow(ByteBuf buf) {
         int numRead = 0;
         int result = 0;
         while (buf.isReadable()) {
@@ -28,14 +70,23 @@ public class MinecraftProtocolHelper {
     }
 
     /**
-     * 写 VarInt
+     * 写 VarInt，按编码长度一次写入 1-4 字节
      */
     public static void writeVarInt(ByteBuf buf, int value) {
-        while ((value & 0xFFFFFF80) != 0L) {
-            buf.writeByte((value & 0x7F) | 0x80);
-            value >>>= 7;
+        if ((value & 0xFFFFFF80) == 0) {
+            buf.writeByte(value);
+        } else if ((value & 0xFFFFC000) == 0) {
+            buf.writeShort((value & 0x7F | 0x80) << 8 | value >>> 7);
+        } else if ((value & 0xFFE00000) == 0) {
+            buf.writeMedium((value & 0x7F | 0x80) << 16 | (value >>> 7 & 0x7F | 0x80) << 8 | value >>> 14);
+        } else if ((value & 0xF0000000) == 0) {
+            buf.writeInt((value & 0x7F | 0x80) << 24 | (value >>> 7 & 0x7F | 0x80) << 16
+                    | (value >>> 14 & 0x7F | 0x80) << 8 | value >>> 21);
+        } else {
+            buf.writeInt((value & 0x7F | 0x80) << 24 | (value >>> 7 & 0x7F | 0x80) << 16
+                    | (value >>> 14 & 0x7F | 0x80) << 8 | (value >>> 21 & 0x7F | 0x80));
+            buf.writeByte(value >>> 28);
         }
-        buf.writeByte(value & 0x7F);
     }
 
     /**
@@ -70,22 +121,27 @@ public class MinecraftProtocolHelper {
 
     /**
      * 读取长度前缀的 UTF-8 字符串
+     * 直接从缓冲区解码，直接内存上借用 Netty 的线程本地临时数组，不再为每个字符串分配 byte[]
      */
     public static String readString(ByteBuf buf) {
         int length = readVarInt(buf);
         if (length < 0) throw new RuntimeException("Invalid string length: " + length);
-        byte[] bytes = new byte[length];
-        buf.readBytes(bytes);
-        return new String(bytes, StandardCharsets.UTF_8);
+        int readerIndex = buf.readerIndex();
+        if (buf.writerIndex() - readerIndex < length) {
+            throw new IndexOutOfBoundsException("String length " + length + " exceeds readable bytes");
+        }
+        String value = buf.toString(readerIndex, length, StandardCharsets.UTF_8);
+        buf.readerIndex(readerIndex + length);
+        return value;
     }
 
     /**
-     * 写长度前缀 UTF-8 字符串
+     * 写长度前缀 UTF-8 字符串，先计算编码长度写入 VarInt，再直接编码进缓冲区，不经过临时 byte[]
      */
     public static void writeString(ByteBuf buf, String value) {
-        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
-        writeVarInt(buf, bytes.length);
-        buf.writeBytes(bytes);
+        int length = ByteBufUtil.utf8Bytes(value);
+        writeVarInt(buf, length);
+        ByteBufUtil.reserveAndWriteUtf8(buf, value, length);
     }
 
     /**
@@ -185,6 +241,19 @@ public class MinecraftProtocolHelper {
         writeByteArray(buf, bytes);
     }
 
+    /**
+     * 在指定位置写入 VarInt（不修改读写索引），返回写入的字节数
+     */
+    public static int setVarInt(ByteBuf buf, int index, int value) {
+        int start = index;
+        while ((value & 0xFFFFFF80) != 0) {
+            buf.setByte(index++, (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.setByte(index++, value);
+        return index - start;
+    }
+
     /**
      * 获取 VarInt 编码后的字节长度
      */
@@ -0,0 +1,228 @@
+package net.slidermc.sliderproxy.network;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringChannelOption;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 网络传输方式
+ * 监听端与下游连接统一使用同一种传输，Linux 下优先使用 epoll 以降低系统调用与 GC 开销；
+ * io_uring 仍是孵化模块，只在配置中明确指定时使用
+ */
+public enum TransportType {
+    NIO("nio") {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return NioSocketChannel.class;
+        }
+    },
+    EPOLL("epoll") {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public Throwable getUnavailabilityCause() {
+            return Epoll.unavailabilityCause();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public boolean isNative() {
+            return true;
+        }
+
+        @Override
+        public ChannelOption<Integer> getServerFastOpenOption() {
+            return Epoll.isTcpFastOpenServerSideAvailable() ? ChannelOption.TCP_FASTOPEN : null;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getClientFastOpenOption() {
+            return Epoll.isTcpFastOpenClientSideAvailable() ? ChannelOption.TCP_FASTOPEN_CONNECT : null;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getQuickAckOption() {
+            return EpollChannelOption.TCP_QUICKACK;
+        }
+    },
+    IO_URING("io_uring") {
+        @Override
+        public boolean isAvailable() {
+            return IOUring.isAvailable();
+        }
+
+        @Override
+        public Throwable getUnavailabilityCause() {
+            return IOUring.unavailabilityCause();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new IOUringEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return IOUringServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return IOUringSocketChannel.class;
+        }
+
+        @Override
+        public boolean isNative() {
+            return true;
+        }
+
+        @Override
+        public ChannelOption<Integer> getServerFastOpenOption() {
+            return IOUring.isTcpFastOpenServerSideAvailable() ? ChannelOption.TCP_FASTOPEN : null;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getClientFastOpenOption() {
+            return IOUring.isTcpFastOpenClientSideAvailable() ? ChannelOption.TCP_FASTOPEN_CONNECT : null;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getQuickAckOption() {
+            return IOUringChannelOption.TCP_QUICKACK;
+        }
+    };
+
+    private final String configName;
+
+    TransportType(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * 当前系统是否支持该传输方式
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * 不可用的原因（缺少当前平台的原生库等），可用时返回 null
+     */
+    @Nullable
+    public Throwable getUnavailabilityCause() {
+        return null;
+    }
+
+    public abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    public abstract Class<? extends ServerSocketChannel> getServerChannelClass();
+
+    public abstract Class<? extends SocketChannel> getSocketChannelClass();
+
+    /**
+     * 是否为原生传输（支持 TCP_FASTOPEN / TCP_QUICKACK）
+     */
+    public boolean isNative() {
+        return false;
+    }
+
+    /**
+     * 监听端 TCP_FASTOPEN 选项（值为队列长度），不支持时返回 null
+     */
+    @Nullable
+    public ChannelOption<Integer> getServerFastOpenOption() {
+        return null;
+    }
+
+    /**
+     * 连接端 TCP_FASTOPEN_CONNECT 选项，不支持时返回 null
+     */
+    @Nullable
+    public ChannelOption<Boolean> getClientFastOpenOption() {
+        return null;
+    }
+
+    /**
+     * TCP_QUICKACK 选项，不支持时返回 null
+     */
+    @Nullable
+    public ChannelOption<Boolean> getQuickAckOption() {
+        return null;
+    }
+
+    /**
+     * 自动选择当前系统可用的最佳传输方式：epoll > nio
+     * io_uring 不参与自动选择，需要在 network.transport 中明确指定
+     */
+    @NotNull
+    public static TransportType best() {
+        if (EPOLL.isAvailable()) return EPOLL;
+        return NIO;
+    }
+
+    /**
+     * 按配置名称查找传输方式，auto 或无法识别时返回 null
+     */
+    @Nullable
+    public static TransportType fromConfigName(@Nullable String name) {
+        if (name == null) return null;
+        for (TransportType type : values()) {
+            if (type.configName.equalsIgnoreCase(name.trim())) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -7,15 +7,16 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
 import net.slidermc.sliderproxy.RunningData;
 import net.slidermc.sliderproxy.api.config.YamlConfiguration;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.api.player.data.ClientInformation;
+import net.slidermc.sliderproxy.api.server.ProxiedServer;
+import net.slidermc.sliderproxy.network.EventLoopManager;
 import net.slidermc.sliderproxy.network.ProtocolState;
+import net.slidermc.sliderproxy.network.netty.OutboundMailbox;
 import net.slidermc.sliderproxy.network.netty.downstream.DownstreamChannelInitializer;
 import net.slidermc.sliderproxy.network.packet.clientbound.login.ClientboundLoginSuccessPacket;
 import net.slidermc.sliderproxy.network.packet.serverbound.configuration.ServerboundClientInformationConfigurationPacket;
@@ -29,7 +30,10 @@ import org.slf4j.LoggerFactory;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.channels.ClosedChannelException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 下游 Minecraft 服务器连接客户端
@@ -41,8 +45,8 @@ public class MinecraftNettyClient {
     public static final AttributeKey<MinecraftNettyClient> KEY = AttributeKey.valueOf("downstream_client");
 
     private final InetSocketAddress address;
+    private final int connectTimeout; // 毫秒
     private Channel channel;
-    private EventLoopGroup group;
     private boolean connected = false;
     private final ProxiedPlayer bindPlayer;
 
@@ -52,41 +56,51 @@ public class MinecraftNettyClient {
 
     // 用于等待状态变化的 CompletableFuture
     private CompletableFuture<Void> loginFuture;
+    private ScheduledFuture<?> loginTimeoutTask;
 
     public MinecraftNettyClient(InetSocketAddress address, ProxiedPlayer player) {
-        this.address = address;
-        this.bindPlayer = player;
+        this(address, ProxiedServer.DEFAULT_CONNECT_TIMEOUT, player);
     }
 
-    public CompletableFuture<Void> connectAsync() {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                connect();
-                return null;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
-            }
-        });
+    public MinecraftNettyClient(ProxiedServer server, ProxiedPlayer player) {
+        this(server.getAddress(), server.getConnectTimeout(), player);
+    }
+
+    private MinecraftNettyClient(InetSocketAddress address, int connectTimeout, ProxiedPlayer player) {
+        this.address = address;
+        this.connectTimeout = connectTimeout;
+        this.bindPlayer = player;
     }
 
     /**
-     * 连接到指定地址服务器
+     * 连接到指定地址服务器，由 ChannelFuture 驱动，不阻塞任何线程
      * 注意：不再自动设置 PlayerConnection.downstreamChannel，由调用方控制
+     * 下游 Channel 与玩家上游 Channel 共用同一个 EventLoop
      */
-    private void connect() throws InterruptedException {
-        group = new NioEventLoopGroup();
+    public CompletableFuture<Void> connectAsync() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Channel upstreamChannel = bindPlayer.getPlayerConnection().getUpstreamChannel();
+        EventLoopManager eventLoopManager = EventLoopManager.getInstance();
         Bootstrap bootstrap = new Bootstrap();
-        bootstrap.group(group)
-                .channel(NioSocketChannel.class)
+        bootstrap.group(eventLoopManager.getBackendEventLoop(upstreamChannel))
                 .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
                 .handler(new DownstreamChannelInitializer(bindPlayer, this));
-
-        ChannelFuture future = bootstrap.connect(address).sync();
-        this.channel = future.channel();
-
-        // 协议状态由 MinecraftNettyClient 自主管理，初始化时已设为 HANDSHAKE
-        connected = true;
+        eventLoopManager.configureClientBootstrap(bootstrap);
+
+        ChannelFuture connectFuture = bootstrap.connect(address);
+        this.channel = connectFuture.channel();
+        connectFuture.addListener((ChannelFuture f) -> {
+            if (f.isSuccess()) {
+                // 协议状态由 MinecraftNettyClient 自主管理，初始化时已设为 HANDSHAKE
+                connected = true;
+                future.complete(null);
+            } else {
+                future.completeExceptionally(f.cause());
+            }
+        });
+        return future;
     }
 
     public CompletableFuture<Void> loginAsync() {
@@ -121,6 +135,20 @@ public class MinecraftNettyClient {
 
         loginFuture = new CompletableFuture<>();
 
+        // 登录握手超时：在超时时间内未进入 CONFIGURATION 则失败并关闭连接
+        int loginTimeout = RunningData.configuration != null
+                ? RunningData.configuration.getInt("network.login-timeout", 10000) : 10000;
+        if (loginTimeout > 0) {
+            loginTimeoutTask = channel.eventLoop().schedule(() -> {
+                if (!loginFuture.isDone()) {
+                    failLogin(new TimeoutException("Login to " + address + " timed out after " + loginTimeout + "ms"));
+                    channel.close();
+                }
+            }, loginTimeout, TimeUnit.MILLISECONDS);
+        }
+        // 登录完成前下游断开，立即失败而不是等待超时
+        channel.closeFuture().addListener(f -> failLogin(new ClosedChannelException()));
+
         try {
             String ipForwardType = "none";
             YamlConfiguration configuration = RunningData.configuration;
@@ -219,14 +247,12 @@ public class MinecraftNettyClient {
             }
             channel.close();
         }
-        if (group != null) {
-            group.shutdownGracefully();
-        }
         connected = false;
     }
 
     // 当状态变为 CONFIGURATION 时调用此方法完成登录
     public void completeLogin() {
+        cancelLoginTimeout();
         if (loginFuture != null && !loginFuture.isDone()) {
             loginFuture.complete(null);
         }
@@ -234,11 +260,19 @@ public class MinecraftNettyClient {
 
     // 当登录失败时调用此方法
     public void failLogin(Throwable cause) {
+        cancelLoginTimeout();
         if (loginFuture != null && !loginFuture.isDone()) {
             loginFuture.completeExceptionally(cause);
         }
     }
 
+    private void cancelLoginTimeout() {
+        if (loginTimeoutTask != null) {
+            loginTimeoutTask.cancel(false);
+            loginTimeoutTask = null;
+        }
+    }
+
     // ========== 协议状态管理 ==========
 
     /**
@@ -271,7 +305,7 @@ public class MinecraftNettyClient {
             // 向下游服务器发送ClientInformation包，防止下游服务器不知道客户端设置
             ClientInformation clientInformation = bindPlayer.getClientInformation();
             if (clientInformation.isUpdated()) {
-                channel.writeAndFlush(new ServerboundClientInformationConfigurationPacket(clientInformation));
+                OutboundMailbox.of(channel).send(new ServerboundClientInformationConfigurationPacket(clientInformation));
                 log.debug("已为玩家 {} 的下游服务器发送ClientInformation包", bindPlayer.getGameProfile().name());
             } else {
                 log.debug("发现玩家 {} 的ClientInformation不为updated，终止发送下游服务器的ClientInformation包", bindPlayer.getGameProfile().name());
@@ -0,0 +1,28 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+
+/**
+ * 加密实现提供者
+ * 通过 ServiceLoader 从代理类路径发现（META-INF/services/net.slidermc.sliderproxy.network.codec.CipherProvider），
+ * 启动时经过正确性校验与自测速后选出最快的一个
+ */
+public interface CipherProvider {
+
+    /**
+     * 提供者名称，用于日志与 network.cipher-provider 配置
+     */
+    String getName();
+
+    /**
+     * 当前环境是否可用（如原生库是否加载成功）
+     */
+    boolean isAvailable();
+
+    /**
+     * 创建 Minecraft 使用的 AES/CFB8 流加密器，IV 与密钥相同
+     * @param encrypt true 为加密，false 为解密
+     */
+    StreamCipher create(SecretKey key, boolean encrypt) throws GeneralSecurityException;
+}
@@ -0,0 +1,323 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 加密与压缩实现的选择
+ * 启动时从 ServiceLoader 发现的提供者与内置的 java 实现中，剔除未通过正确性校验的，
+ * 再做一次短暂的自测速选出最快的；也可以通过 network.cipher-provider / network.compression-provider 指定名称
+ */
+public class CodecProviders {
+    private static final Logger log = LoggerFactory.getLogger(CodecProviders.class);
+    private static final CodecProviders INSTANCE = new CodecProviders();
+
+    // AES/CFB8 已知答案：密钥与 IV 为 00..0f
+    private static final byte[] CIPHER_TEST_KEY = HexFormat.of().parseHex("000102030405060708090a0b0c0d0e0f");
+    private static final byte[] CIPHER_TEST_PLAINTEXT = "SliderProxy AES/CFB8 self-test".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CIPHER_TEST_CIPHERTEXT = HexFormat.of().parseHex("59a9e237a9bd6635df69f06241b200f5ad5eb4d11c8645259ef1823f61b8");
+
+    private static final int BENCHMARK_PAYLOAD_SIZE = 64 * 1024;
+    private static final long BENCHMARK_NANOS = 50_000_000L;
+
+    private volatile CipherProvider cipherProvider = new JavaCipherProvider();
+    private volatile ZlibProvider zlibProvider = new JavaZlibProvider();
+
+    private CodecProviders() {}
+
+    public static CodecProviders getInstance() {
+        return INSTANCE;
+    }
+
+    @NotNull
+    public CipherProvider getCipherProvider() {
+        return cipherProvider;
+    }
+
+    @NotNull
+    public ZlibProvider getZlibProvider() {
+        return zlibProvider;
+    }
+
+    /**
+     * 发现并选择提供者，在启动时调用一次
+     */
+    public void initialize() {
+        String cipherName = "auto";
+        String zlibName = "auto";
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration != null) {
+            cipherName = configuration.getString("network.cipher-provider", "auto");
+            zlibName = configuration.getString("network.compression-provider", "auto");
+        }
+
+        List<CipherProvider> ciphers = new ArrayList<>();
+        ciphers.add(new JavaCipherProvider());
+        ciphers.addAll(load(CipherProvider.class));
+        List<ZlibProvider> zlibs = new ArrayList<>();
+        zlibs.add(new JavaZlibProvider());
+        zlibs.addAll(load(ZlibProvider.class));
+
+        cipherProvider = selectCipher(ciphers, cipherName);
+        zlibProvider = selectZlib(zlibs, zlibName);
+        log.info("加密实现: {}，压缩实现: {}", cipherProvider.getName(), zlibProvider.getName());
+    }
+
+    private static <T> List<T> load(Class<T> type) {
+        List<T> providers = new ArrayList<>();
+        try {
+            for (T provider : ServiceLoader.load(type, CodecProviders.class.getClassLoader())) {
+                providers.add(provider);
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("加载 {} 失败", type.getSimpleName(), e);
+        }
+        return providers;
+    }
+
+    private CipherProvider selectCipher(List<CipherProvider> candidates, String configured) {
+        return select("加密实现", candidates, configured, CipherProvider::getName,
+                provider -> isUsable(provider.getName(), provider::isAvailable) && verifyCipher(provider),
+                CodecProviders::benchmarkCipher, JavaCipherProvider::new);
+    }
+
+    private ZlibProvider selectZlib(List<ZlibProvider> candidates, String configured) {
+        return select("压缩实现", candidates, configured, ZlibProvider::getName,
+                provider -> isUsable(provider.getName(), provider::isAvailable) && verifyZlib(provider),
+                CodecProviders::benchmarkZlib, JavaZlibProvider::new);
+    }
+
+    /**
+     * 指定了名称时直接使用该实现（仍需通过校验），否则在通过校验的实现中选测速最快的
+     */
+    private static <T> T select(String kind, List<T> candidates, String configured, Function<T, String> name,
+                                Predicate<T> verified, ToDoubleFunction<T> benchmark, Supplier<T> fallback) {
+        if (!"auto".equalsIgnoreCase(configured.trim())) {
+            for (T provider : candidates) {
+                if (name.apply(provider).equalsIgnoreCase(configured.trim()) && verified.test(provider)) {
+                    return provider;
+                }
+            }
+            log.warn("未找到可用的{}: {}，将自动选择", kind, configured);
+        }
+
+        T best = null;
+        double bestScore = -1;
+        for (T provider : candidates) {
+            if (!verified.test(provider)) {
+                continue;
+            }
+            double score = 0;
+            if (candidates.size() > 1) {
+                score = benchmark.applyAsDouble(provider);
+                log.debug("{} {} 自测速: {} MB/s", kind, name.apply(provider), String.format("%.1f", score));
+            }
+            if (best == null || score > bestScore) {
+                best = provider;
+                bestScore = score;
+            }
+        }
+        return best != null ? best : fallback.get();
+    }
+
+    private static boolean isUsable(String name, BooleanSupplier available) {
+        try {
+            return available.getAsBoolean();
+        } catch (Throwable t) {
+            log.warn("实现 {} 不可用", name, t);
+            return false;
+        }
+    }
+
+    /**
+     * 校验已知答案，并确认分段处理与一次性处理结果一致（流状态正确延续）
+     */
+    private static boolean verifyCipher(CipherProvider provider) {
+        ByteBuf buf = ByteBufAllocator.DEFAULT.directBuffer(CIPHER_TEST_PLAINTEXT.length);
+        try {
+            SecretKey key = new SecretKeySpec(CIPHER_TEST_KEY, "AES");
+            StreamCipher encrypt = provider.create(key, true);
+            buf.writeBytes(CIPHER_TEST_PLAINTEXT);
+            int half = CIPHER_TEST_PLAINTEXT.length / 2;
+            encrypt.process(buf.slice(0, half));
+            encrypt.process(buf.slice(half, CIPHER_TEST_PLAINTEXT.length - half));
+            if (!Arrays.equals(toArray(buf), CIPHER_TEST_CIPHERTEXT)) {
+                log.warn("加密实现 {} 未通过正确性校验（加密）", provider.getName());
+                return false;
+            }
+            provider.create(key, false).process(buf);
+            if (!Arrays.equals(toArray(buf), CIPHER_TEST_PLAINTEXT)) {
+                log.warn("加密实现 {} 未通过正确性校验（解密）", provider.getName());
+                return false;
+            }
+            return true;
+        } catch (Throwable t) {
+            log.warn("加密实现 {} 校验时出错", provider.getName(), t);
+            return false;
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * 校验与 JDK zlib 的互通：提供者的输出能被 JDK 解压，JDK 的输出也能被提供者解压
+     */
+    private static boolean verifyZlib(ZlibProvider provider) {
+        byte[] payload = benchmarkPayload();
+        ByteBuf source = ByteBufAllocator.DEFAULT.directBuffer(payload.length);
+        ByteBuf compressed = ByteBufAllocator.DEFAULT.directBuffer();
+        ByteBuf restored = ByteBufAllocator.DEFAULT.directBuffer(payload.length);
+        ZlibCompressor compressor = null;
+        ZlibDecompressor decompressor = null;
+        try {
+            compressor = provider.createCompressor(Deflater.DEFAULT_COMPRESSION);
+            decompressor = provider.createDecompressor();
+
+            source.writeBytes(payload);
+            compressor.deflate(source, compressed);
+            Inflater inflater = new Inflater();
+            byte[] inflated = new byte[payload.length];
+            try {
+                inflater.setInput(toArray(compressed));
+                if (inflater.inflate(inflated) != payload.length || !Arrays.equals(inflated, payload)) {
+                    log.warn("压缩实现 {} 未通过正确性校验（压缩）", provider.getName());
+                    return false;
+                }
+            } finally {
+                inflater.end();
+            }
+
+            Deflater deflater = new Deflater();
+            byte[] deflated = new byte[payload.length + 64];
+            int deflatedLength;
+            try {
+                deflater.setInput(payload);
+                deflater.finish();
+                deflatedLength = deflater.deflate(deflated);
+            } finally {
+                deflater.end();
+            }
+            compressed.clear().writeBytes(deflated, 0, deflatedLength);
+            decompressor.inflate(compressed, restored, payload.length);
+            if (!Arrays.equals(toArray(restored), payload)) {
+                log.warn("压缩实现 {} 未通过正确性校验（解压）", provider.getName());
+                return false;
+            }
+            return true;
+        } catch (Throwable t) {
+            log.warn("压缩实现 {} 校验时出错", provider.getName(), t);
+            return false;
+        } finally {
+            if (compressor != null) compressor.close();
+            if (decompressor != null) decompressor.close();
+            source.release();
+            compressed.release();
+            restored.release();
+        }
+    }
+
+    /**
+     * 自测速，返回吞吐量 (MB/s)
+     */
+    private static double benchmarkCipher(CipherProvider provider) {
+        ByteBuf buf = ByteBufAllocator.DEFAULT.directBuffer(BENCHMARK_PAYLOAD_SIZE);
+        try {
+            StreamCipher cipher = provider.create(new SecretKeySpec(CIPHER_TEST_KEY, "AES"), true);
+            buf.writeBytes(benchmarkPayload());
+            long bytes = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do {
+                cipher.process(buf);
+                bytes += BENCHMARK_PAYLOAD_SIZE;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < BENCHMARK_NANOS);
+            return throughput(bytes, elapsed);
+        } catch (Throwable t) {
+            log.warn("加密实现 {} 测速时出错", provider.getName(), t);
+            return -1;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static double benchmarkZlib(ZlibProvider provider) {
+        byte[] payload = benchmarkPayload();
+        ByteBuf source = ByteBufAllocator.DEFAULT.directBuffer(payload.length);
+        ByteBuf compressed = ByteBufAllocator.DEFAULT.directBuffer();
+        ByteBuf restored = ByteBufAllocator.DEFAULT.directBuffer(payload.length);
+        ZlibCompressor compressor = provider.createCompressor(Deflater.DEFAULT_COMPRESSION);
+        ZlibDecompressor decompressor = provider.createDecompressor();
+        try {
+            source.writeBytes(payload);
+            long bytes = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do {
+                source.readerIndex(0);
+                compressed.clear();
+                restored.clear();
+                compressor.deflate(source, compressed);
+                decompressor.inflate(compressed, restored, payload.length);
+                bytes += payload.length;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < BENCHMARK_NANOS);
+            return throughput(bytes, elapsed);
+        } catch (Throwable t) {
+            log.warn("压缩实现 {} 测速时出错", provider.getName(), t);
+            return -1;
+        } finally {
+            compressor.close();
+            decompressor.close();
+            source.release();
+            compressed.release();
+            restored.release();
+        }
+    }
+
+    private static double throughput(long bytes, long nanos) {
+        return bytes / (1024.0 * 1024.0) / (nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * 半随机半重复的数据，接近区块数据的可压缩程度
+     */
+    private static byte[] benchmarkPayload() {
+        byte[] payload = new byte[BENCHMARK_PAYLOAD_SIZE];
+        Random random = new Random(42);
+        for (int i = 0; i < payload.length; i++) {
+            // 每 64 字节交替：低熵随机数据与全零
+            payload[i] = ((i >> 6) & 1) == 0 ? (byte) random.nextInt(16) : 0;
+        }
+        return payload;
+    }
+
+    private static byte[] toArray(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+}
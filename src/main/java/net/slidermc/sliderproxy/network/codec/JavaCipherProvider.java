@@ -0,0 +1,94 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import java.security.GeneralSecurityException;
+
+/**
+ * 基于 JCE 的 AES/CFB8 实现，始终可用
+ * 数据经每线程一块的中转数组分段交给 JCE，处理过程中不分配内存
+ */
+public class JavaCipherProvider implements CipherProvider {
+
+    @Override
+    public String getName() {
+        return "java";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public StreamCipher create(SecretKey key, boolean encrypt) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/CFB8/NoPadding");
+        cipher.init(encrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, key, new IvParameterSpec(key.getEncoded()));
+        return new JavaStreamCipher(cipher);
+    }
+
+    private static final class JavaStreamCipher implements StreamCipher {
+        /** 每次交给 JCE 处理的最大字节数 */
+        private static final int CHUNK_SIZE = 8192;
+
+        // 中转数组，按线程共享：加/解密总在连接的事件循环中同步完成
+        // 输入与输出放在不重叠的两半；JCE 的 ByteBuffer 接口遇到直接内存、byte[] 接口遇到输入输出重叠时
+        // 都会为每次调用分配临时数组，经由这里中转则不分配
+        private static final FastThreadLocal<byte[]> SCRATCH = new FastThreadLocal<>() {
+            @Override
+            protected byte[] initialValue() {
+                return new byte[CHUNK_SIZE * 2];
+            }
+        };
+
+        private final Cipher cipher;
+
+        private JavaStreamCipher(Cipher cipher) {
+            this.cipher = cipher;
+        }
+
+        @Override
+        public void process(ByteBuf buf) throws GeneralSecurityException {
+            int index = buf.readerIndex();
+            int remaining = buf.readableBytes();
+            if (remaining == 0) {
+                return;
+            }
+            byte[] scratch = SCRATCH.get();
+            if (buf.hasArray()) {
+                // 堆内存：从底层数组直接读入，结果经中转数组写回
+                byte[] array = buf.array();
+                int offset = buf.arrayOffset() + index;
+                while (remaining > 0) {
+                    int length = Math.min(remaining, CHUNK_SIZE);
+                    update(array, offset, length, scratch, 0);
+                    System.arraycopy(scratch, 0, array, offset, length);
+                    offset += length;
+                    remaining -= length;
+                }
+            } else {
+                // 直接内存：复制到中转数组前半，结果写到后半再复制回去
+                while (remaining > 0) {
+                    int length = Math.min(remaining, CHUNK_SIZE);
+                    buf.getBytes(index, scratch, 0, length);
+                    update(scratch, 0, length, scratch, CHUNK_SIZE);
+                    buf.setBytes(index, scratch, CHUNK_SIZE, length);
+                    index += length;
+                    remaining -= length;
+                }
+            }
+        }
+
+        private void update(byte[] input, int inputOffset, int length, byte[] output, int outputOffset)
+                throws GeneralSecurityException {
+            int processed = cipher.update(input, inputOffset, length, output, outputOffset);
+            if (processed != length) {
+                throw new GeneralSecurityException("Cipher output length mismatch: " + processed + " != " + length);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 基于 java.util.zip 的 zlib 实现，始终可用
+ * 直接在 ByteBuffer 视图上压缩/解压，不经过中间 byte[]
+ */
+public class JavaZlibProvider implements ZlibProvider {
+
+    @Override
+    public String getName() {
+        return "java";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public ZlibCompressor createCompressor(int level) {
+        return new JavaCompressor(level);
+    }
+
+    @Override
+    public ZlibDecompressor createDecompressor() {
+        return new JavaDecompressor();
+    }
+
+    /**
+     * 多段缓冲区先合并到一块直接内存，返回值需要由调用方释放；单段时返回 null
+     */
+    private static ByteBuf mergeIfNeeded(ByteBuf source, ByteBuf target) {
+        if (source.nioBufferCount() == 1) {
+            return null;
+        }
+        ByteBuf copy = target.alloc().directBuffer(source.readableBytes());
+        copy.writeBytes(source, source.readerIndex(), source.readableBytes());
+        return copy;
+    }
+
+    private static final class JavaCompressor implements ZlibCompressor {
+        private final Deflater deflater;
+
+        private JavaCompressor(int level) {
+            this.deflater = new Deflater(level);
+        }
+
+        @Override
+        public void deflate(ByteBuf source, ByteBuf destination) {
+            ByteBuf copy = mergeIfNeeded(source, destination);
+            try {
+                deflater.setInput(copy != null ? copy.nioBuffer() : source.nioBuffer());
+                deflater.finish();
+
+                while (!deflater.finished()) {
+                    if (!destination.isWritable()) {
+                        destination.ensureWritable(Math.max(256, destination.capacity() >>> 1));
+                    }
+                    ByteBuffer output = destination.internalNioBuffer(destination.writerIndex(), destination.writableBytes());
+                    destination.writerIndex(destination.writerIndex() + deflater.deflate(output));
+                }
+                source.skipBytes(source.readableBytes());
+            } finally {
+                deflater.reset();
+                if (copy != null) copy.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            deflater.end();
+        }
+    }
+
+    private static final class JavaDecompressor implements ZlibDecompressor {
+        private final Inflater inflater = new Inflater();
+        private final byte[] overflowProbe = new byte[1];
+
+        @Override
+        public void inflate(ByteBuf source, ByteBuf destination, int uncompressedSize) throws DataFormatException {
+            ByteBuf copy = mergeIfNeeded(source, destination);
+            try {
+                inflater.setInput(copy != null ? copy.nioBuffer() : source.nioBuffer());
+
+                destination.ensureWritable(uncompressedSize);
+                ByteBuffer output = destination.nioBuffer(destination.writerIndex(), uncompressedSize);
+                while (output.hasRemaining() && !inflater.finished()) {
+                    if (inflater.inflate(output) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                }
+                int resultLength = output.position();
+                if (resultLength != uncompressedSize) {
+                    throw new DataFormatException("解压缩长度不匹配: 期望 " + uncompressedSize + ", 实际 " + resultLength);
+                }
+                // 输出已满但流还没结束：再多解出一个字节就说明实际长度超过声明
+                if (!inflater.finished() && inflater.inflate(overflowProbe) > 0) {
+                    throw new DataFormatException("解压缩长度超过声明的 " + uncompressedSize);
+                }
+                destination.writerIndex(destination.writerIndex() + resultLength);
+                source.skipBytes(source.readableBytes());
+            } finally {
+                inflater.reset();
+                if (copy != null) copy.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import io.netty.buffer.ByteBuf;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * 流式加密器（AES/CFB8），输出长度与输入一致
+ */
+public interface StreamCipher {
+
+    /**
+     * 在缓冲区的可读区域上原地加/解密，不改变读写指针
+     * 调用方保证缓冲区只有一段 NIO 视图（nioBufferCount() == 1）
+     */
+    void process(ByteBuf buf) throws GeneralSecurityException;
+}
@@ -0,0 +1,19 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * zlib 压缩器，每个连接独占一个实例
+ */
+public interface ZlibCompressor {
+
+    /**
+     * 压缩 source 的全部可读字节并写入 destination，空间不足时扩容 destination
+     */
+    void deflate(ByteBuf source, ByteBuf destination);
+
+    /**
+     * 释放底层资源
+     */
+    void close();
+}
@@ -0,0 +1,22 @@
+package net.slidermc.sliderproxy.network.codec;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * zlib 解压器，每个连接独占一个实例
+ */
+public interface ZlibDecompressor {
+
+    /**
+     * 解压 source 的全部可读字节，向 destination 写入恰好 uncompressedSize 字节
+     * 实际解压长度多于或少于 uncompressedSize 时抛出 DataFormatException，不会写出超过该长度的数据
+     */
+    void inflate(ByteBuf source, ByteBuf destination, int uncompressedSize) throws DataFormatException;
+
+    /**
+     * 释放底层资源
+     */
+    void close();
+}
@@ -0,0 +1,26 @@
+package net.slidermc.sliderproxy.network.codec;
+
+/**
+ * zlib 实现提供者
+ * 通过 ServiceLoader 从代理类路径发现（META-INF/services/net.slidermc.sliderproxy.network.codec.ZlibProvider），
+ * 启动时经过正确性校验与自测速后选出最快的一个
+ */
+public interface ZlibProvider {
+
+    /**
+     * 提供者名称，用于日志与 network.compression-provider 配置
+     */
+    String getName();
+
+    /**
+     * 当前环境是否可用（如原生库是否加载成功）
+     */
+    boolean isAvailable();
+
+    /**
+     * @param level 压缩等级，-1 为默认等级
+     */
+    ZlibCompressor createCompressor(int level);
+
+    ZlibDecompressor createDecompressor();
+}
@@ -1,19 +1,31 @@
 package net.slidermc.sliderproxy.network.connection;
 
 import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
 import io.netty.util.AttributeKey;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import net.slidermc.sliderproxy.api.event.Event;
 import net.slidermc.sliderproxy.api.event.EventRegistry;
 import net.slidermc.sliderproxy.api.event.events.ProtocolStateChangeEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
+import net.slidermc.sliderproxy.network.EventLoopManager;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
+import net.slidermc.sliderproxy.network.netty.PacketFlusher;
+import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 import net.slidermc.sliderproxy.network.packet.clientbound.play.ClientboundSystemChatPacket;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
 /**
  * 玩家连接管理 - 维护客户端与代理之间的连接状态
  * <p>
@@ -30,10 +42,36 @@ public class PlayerConnection {
     // 下游 Channel 引用（用于快速访问）
     private volatile Channel downstreamChannel;
 
+    // 与客户端协商的压缩阈值，-1 表示未启用压缩
+    private volatile int upstreamCompressionThreshold = -1;
+
+    /** 默认的入站事件等待超时 (events.async-timeout-ms) */
+    static final int DEFAULT_EVENT_TIMEOUT_MILLIS = 5000;
+
+    // 事件链上排队的任务超过该数量时暂停读取客户端，回落到一半时恢复
+    private static final int MAX_PENDING_INBOUND = 64;
+
+    // 等待异步事件的入站包（聊天、命令）的处理链，只在上游事件循环中访问
+    private CompletableFuture<Void> inboundEventChain = CompletableFuture.completedFuture(null);
+
+    // 事件链上还未执行的任务数与当前正在等待的事件，只在上游事件循环中访问
+    private int pendingInbound;
+    private CompletableFuture<?> awaitingEvent;
+    private boolean inboundClosed;
+
+    // 是否因事件链过长暂停了读取，下游背压恢复读取时需要参考
+    private volatile boolean inboundPaused;
+
+    private final long eventTimeoutMillis;
+
     public static final AttributeKey<PlayerConnection> KEY = AttributeKey.valueOf("player_connection");
 
     public PlayerConnection(@NotNull Channel upstreamChannel) {
         this.upstreamChannel = upstreamChannel;
+        YamlConfiguration configuration = RunningData.configuration;
+        this.eventTimeoutMillis = configuration != null
+                ? Math.max(0, configuration.getInt("events.async-timeout-ms", DEFAULT_EVENT_TIMEOUT_MILLIS))
+                : DEFAULT_EVENT_TIMEOUT_MILLIS;
         // 将 PlayerConnection 绑定到 Channel
         upstreamChannel.attr(KEY).set(this);
     }
@@ -72,6 +110,150 @@ public class PlayerConnection {
         this.downstreamChannel = downstreamChannel;
     }
 
+    /**
+     * 在异步事件线程上发布事件，同一连接的事件按调用顺序处理：
+     * 前一个事件的 continuation 执行完之后才发布下一个事件，continuation 在上游事件循环中执行。
+     * 用于聊天、命令等需要等待插件结果又不能打乱先后顺序的包，只能在上游事件循环中调用。
+     * 事件等待期间其余入站包的转发经 runAfterPendingEvents 排在其后，客户端发来的包整体保持原有顺序；
+     * 等待超过 events.async-timeout-ms 或连接已断开时按失败处理，不会让后面的包无限期排队
+     * @param event 事件
+     * @param continuation 事件处理结束后调用；异步分发失败（例如队列已满、超时、连接断开）时第一个参数为 null，第二个参数为异常
+     */
+    public <E extends Event> void callEventInOrder(@NotNull E event, @NotNull BiConsumer<E, Throwable> continuation) {
+        EventLoop eventLoop = upstreamChannel.eventLoop();
+        pendingInbound++;
+        inboundEventChain = inboundEventChain
+                .thenCompose(ignored -> awaitEvent(event))
+                .handleAsync((result, throwable) -> {
+                    try {
+                        continuation.accept(result, throwable);
+                    } catch (Throwable e) {
+                        log.error("处理事件 {} 的结果时出错", event.getEventName(), e);
+                    }
+                    inboundTaskDone();
+                    return null;
+                }, eventLoop);
+        checkInboundBacklog();
+    }
+
+    /**
+     * 发布事件并记录为当前等待的事件，在上游事件循环中调用
+     */
+    private <E extends Event> CompletableFuture<E> awaitEvent(E event) {
+        if (inboundClosed) {
+            return CompletableFuture.failedFuture(new ClosedChannelException());
+        }
+        CompletableFuture<E> future = EventRegistry.callEventAsync(event);
+        if (eventTimeoutMillis > 0) {
+            future = future.orTimeout(eventTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        awaitingEvent = future;
+        return future;
+    }
+
+    /**
+     * 有等待中的异步事件时把任务排在事件链末尾（在上游事件循环中执行），否则不做任何事返回 false 由调用方立即处理；
+     * 入站包的转发都要经过这里，否则会越过还在等待插件结果的聊天/命令（例如聊天确认包先于聊天到达后端，签名校验失败）。
+     * 只能在上游事件循环中调用
+     * @param task 转发任务，负责在连接已断开时释放数据
+     * @return 已排队时返回 true
+     */
+    public boolean runAfterPendingEvents(@NotNull Runnable task) {
+        if (inboundEventChain.isDone()) {
+            return false;
+        }
+        pendingInbound++;
+        inboundEventChain = inboundEventChain.handleAsync((ignored, throwable) -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("转发延后的入站数据时出错", e);
+            }
+            inboundTaskDone();
+            return null;
+        }, upstreamChannel.eventLoop());
+        checkInboundBacklog();
+        return true;
+    }
+
+    /**
+     * 上游断开时调用（上游事件循环中）：让正在等待的事件立即失败，之后排队的事件不再发布，
+     * 排队的转发任务随之依次执行并释放各自保留的数据
+     */
+    public void closeInboundEvents() {
+        inboundClosed = true;
+        CompletableFuture<?> awaiting = awaitingEvent;
+        if (awaiting != null) {
+            awaiting.completeExceptionally(new ClosedChannelException());
+        }
+    }
+
+    /**
+     * 事件链过长时暂停读取客户端，避免慢插件让排队的包及其缓冲区无限增长
+     */
+    private void checkInboundBacklog() {
+        if (!inboundPaused && pendingInbound >= MAX_PENDING_INBOUND) {
+            inboundPaused = true;
+            upstreamChannel.config().setAutoRead(false);
+            log.debug("入站事件链积压 {} 个任务，暂停读取 {}", pendingInbound, upstreamChannel.remoteAddress());
+        }
+    }
+
+    private void inboundTaskDone() {
+        pendingInbound--;
+        if (inboundPaused && pendingInbound <= MAX_PENDING_INBOUND / 2) {
+            inboundPaused = false;
+            // 下游背压仍在生效时保持暂停，等下游恢复可写时再由背压处理恢复读取
+            Channel downstream = downstreamChannel;
+            if (downstream == null || !EventLoopManager.getInstance().isBackpressureEnabled() || downstream.isWritable()) {
+                upstreamChannel.config().setAutoRead(true);
+            }
+        }
+    }
+
+    /**
+     * 是否因入站事件链积压暂停了读取客户端；下游背压恢复读取前需要检查
+     */
+    public boolean isInboundPaused() {
+        return inboundPaused;
+    }
+
+    /**
+     * 把延后处理完（handle() 返回 PENDING）的入站包转发给当前下游，没有下游连接时释放；可在任意线程调用
+     * @param packet 数据包
+     */
+    public void forwardDownstream(@NotNull IMinecraftPacket packet) {
+        Channel channel = downstreamChannel;
+        if (channel == null || !channel.isActive()) {
+            packet.release();
+            return;
+        }
+        PacketFlusher.of(channel).write(packet, true);
+    }
+
+    /**
+     * 是否没有仍在等待的异步事件，为 true 时同步处理不会打乱先后顺序；只能在上游事件循环中调用
+     */
+    public boolean isInboundEventChainIdle() {
+        return inboundEventChain.isDone();
+    }
+
+    /**
+     * 获得与客户端协商的压缩阈值
+     * @return 压缩阈值，-1 表示未启用压缩
+     */
+    public int getUpstreamCompressionThreshold() {
+        return upstreamCompressionThreshold;
+    }
+
+    /**
+     * 设置与客户端协商的压缩阈值（发送 SetCompression 并安装压缩处理器后调用）
+     * @param upstreamCompressionThreshold 压缩阈值，-1 表示未启用压缩
+     */
+    public void setUpstreamCompressionThreshold(int upstreamCompressionThreshold) {
+        this.upstreamCompressionThreshold = upstreamCompressionThreshold;
+    }
+
     /**
      * 获得上游入站协议状态（代理接收客户端数据时使用的状态）
      * 注意：这是代理维护的状态，表示代理认为应该用什么状态解析客户端发来的数据
@@ -124,8 +306,9 @@ public class PlayerConnection {
         ProtocolState oldState = this.upstreamInboundProtocolState;
         this.upstreamInboundProtocolState = upstreamInboundProtocolState;
         
-        // 触发协议状态改变事件
-        if (oldState != null && !oldState.equals(upstreamInboundProtocolState)) {
+        // 触发协议状态改变事件，没有监听器时跳过玩家查找
+        if (oldState != null && !oldState.equals(upstreamInboundProtocolState)
+                && EventRegistry.hasListeners(ProtocolStateChangeEvent.class)) {
             ProxiedPlayer player = PlayerManager.getInstance().getPlayerByConnection(this);
             if (player != null) {
                 EventRegistry.callEvent(new ProtocolStateChangeEvent(
@@ -144,8 +327,9 @@ public class PlayerConnection {
         ProtocolState oldState = this.upstreamOutboundProtocolState;
         this.upstreamOutboundProtocolState = upstreamOutboundProtocolState;
         
-        // 触发协议状态改变事件
-        if (oldState != null && !oldState.equals(upstreamOutboundProtocolState)) {
+        // 触发协议状态改变事件，没有监听器时跳过玩家查找
+        if (oldState != null && !oldState.equals(upstreamOutboundProtocolState)
+                && EventRegistry.hasListeners(ProtocolStateChangeEvent.class)) {
             ProxiedPlayer player = PlayerManager.getInstance().getPlayerByConnection(this);
             if (player != null) {
                 EventRegistry.callEvent(new ProtocolStateChangeEvent(
@@ -9,10 +9,13 @@ import net.slidermc.sliderproxy.api.event.EventRegistry;
 import net.slidermc.sliderproxy.api.event.events.PacketReceiveEvent;
 import net.slidermc.sliderproxy.api.event.events.ServerDisconnectEvent;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
+import net.slidermc.sliderproxy.network.EventLoopManager;
 import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.netty.PacketFlusher;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
 import net.slidermc.sliderproxy.translate.TranslateManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +24,7 @@ import java.util.Objects;
 
 public class DownstreamClientHandler extends ChannelInboundHandlerAdapter {
     private static final Logger log = LoggerFactory.getLogger(DownstreamClientHandler.class);
+    private final boolean backpressure = EventLoopManager.getInstance().isBackpressureEnabled();
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
@@ -30,55 +34,88 @@ public class DownstreamClientHandler extends ChannelInboundHandlerAdapter {
                 return;
             }
 
-            // 触发数据包接收事件
             PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
-            MinecraftNettyClient client = MinecraftNettyClient.fromChannel(ctx.channel());
-            ProxiedPlayer player = client != null ? client.getBindPlayer() : null;
-            
-            PacketReceiveEvent receiveEvent = new PacketReceiveEvent(
-                player,
-                packet,
-                PacketReceiveEvent.Direction.FROM_SERVER,
-                client != null ? client.getInboundProtocolState() : null,
-                ctx
-            );
-            EventRegistry.callEvent(receiveEvent);
-            
-            // 如果事件被取消或不转发，直接返回
-            if (receiveEvent.isCancelled() || !receiveEvent.isForwarded()) {
-                return;
+            IMinecraftPacket finalPacket = packet;
+
+            // 触发数据包接收事件，没有监听器时不构造事件
+            if (EventRegistry.hasListeners(PacketReceiveEvent.class)) {
+                MinecraftNettyClient client = MinecraftNettyClient.fromChannel(ctx.channel());
+                ProxiedPlayer player = client != null ? client.getBindPlayer() : null;
+
+                PacketReceiveEvent receiveEvent = new PacketReceiveEvent(
+                    player,
+                    packet,
+                    PacketReceiveEvent.Direction.FROM_SERVER,
+                    client != null ? client.getInboundProtocolState() : null,
+                    ctx
+                );
+                EventRegistry.callEvent(receiveEvent);
+
+                // 如果事件被取消或不转发，直接返回
+                if (receiveEvent.isCancelled() || !receiveEvent.isForwarded()) {
+                    receiveEvent.getPacket().release();
+                    return;
+                }
+
+                // 使用事件中可能被修改的数据包
+                finalPacket = receiveEvent.getPacket();
             }
-            
-            // 使用事件中可能被修改的数据包
-            IMinecraftPacket finalPacket = receiveEvent.getPacket();
 
             HandleResult result = finalPacket.handle(ctx);
-            if (result == HandleResult.FORWARD) {
-                if (connection != null) {
-                    // 检查当前 channel 是否是活跃的下游 channel
-                    // 如果不是（比如正在切换服务器时的新连接），不转发包
-                    if (connection.getDownstreamChannel() != ctx.channel()) {
-                        log.debug("跳过转发：当前 channel 不是活跃的下游 channel");
-                        return;
-                    }
-                    
-                    Channel channel = connection.getUpstreamChannel();
-                    // 确保在目标 Channel 的 EventLoop 中执行
-                    if (channel.eventLoop().inEventLoop()) {
-                        channel.writeAndFlush(finalPacket);
-                    } else {
-                        channel.eventLoop().execute(() -> {
-                            channel.writeAndFlush(finalPacket);
-                        });
-                    }
-                }
+            if (result == HandleResult.PENDING) {
+                return;
+            }
+            if (result != HandleResult.FORWARD) {
+                // 不转发的包不会经过编码器，需要释放其保留的原始帧
+                finalPacket.release();
+                return;
             }
+            if (connection == null) {
+                finalPacket.release();
+                return;
+            }
+            // 检查当前 channel 是否是活跃的下游 channel
+            // 如果不是（比如正在切换服务器时的新连接），不转发包
+            if (connection.getDownstreamChannel() != ctx.channel()) {
+                log.debug("跳过转发：当前 channel 不是活跃的下游 channel");
+                finalPacket.release();
+                return;
+            }
+
+            Channel channel = connection.getUpstreamChannel();
+            // 只写不 flush，本批读取结束时统一 flush
+            PacketFlusher.of(channel).write(finalPacket, NetworkPacketRegistry.isImmediateFlush(finalPacket));
         } catch (Exception e) {
             log.error("Error while handling downstream packet", e);
             ctx.channel().close();
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
+        if (connection != null) {
+            PacketFlusher.of(connection.getUpstreamChannel()).readComplete();
+        }
+        super.channelReadComplete(ctx);
+    }
+
+    /**
+     * 下游写缓冲区超过高水位时暂停读取客户端，回落到低水位后恢复
+     * 仅当前活跃的下游 channel 会影响上游
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (backpressure) {
+            PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
+            if (connection != null && connection.getDownstreamChannel() == ctx.channel()) {
+                // 入站事件链积压时由 PlayerConnection 负责恢复读取
+                connection.getUpstreamChannel().config().setAutoRead(ctx.channel().isWritable() && !connection.isInboundPaused());
+            }
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         // 从 channel 获取绑定的 MinecraftNettyClient
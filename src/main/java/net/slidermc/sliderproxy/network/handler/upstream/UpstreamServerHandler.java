@@ -8,15 +8,19 @@ import net.slidermc.sliderproxy.api.event.events.PacketReceiveEvent;
 import net.slidermc.sliderproxy.api.event.events.PlayerQuitEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
+import net.slidermc.sliderproxy.network.EventLoopManager;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.netty.PacketFlusher;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
 import net.slidermc.sliderproxy.translate.TranslateManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class UpstreamServerHandler extends ChannelInboundHandlerAdapter {
     private static final Logger log = LoggerFactory.getLogger(UpstreamServerHandler.class);
+    private final boolean backpressure = EventLoopManager.getInstance().isBackpressureEnabled();
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
@@ -26,50 +30,91 @@ public class UpstreamServerHandler extends ChannelInboundHandlerAdapter {
                 return;
             }
 
-            // 触发数据包接收事件
             PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
-            ProxiedPlayer player = connection != null ? PlayerManager.getInstance().getPlayerByConnection(connection) : null;
-            
-            PacketReceiveEvent receiveEvent = new PacketReceiveEvent(
-                player, 
-                packet, 
-                PacketReceiveEvent.Direction.FROM_CLIENT,
-                connection != null ? connection.getUpstreamInboundProtocolState() : null,
-                ctx
-            );
-            EventRegistry.callEvent(receiveEvent);
-            
-            // 如果事件被取消或不转发，直接返回
-            if (receiveEvent.isCancelled() || !receiveEvent.isForwarded()) {
-                return;
+            IMinecraftPacket finalPacket = packet;
+
+            // 触发数据包接收事件，没有监听器时不构造事件
+            if (EventRegistry.hasListeners(PacketReceiveEvent.class)) {
+                ProxiedPlayer player = connection != null ? PlayerManager.getInstance().getPlayerByConnection(connection) : null;
+
+                PacketReceiveEvent receiveEvent = new PacketReceiveEvent(
+                    player,
+                    packet,
+                    PacketReceiveEvent.Direction.FROM_CLIENT,
+                    connection != null ? connection.getUpstreamInboundProtocolState() : null,
+                    ctx
+                );
+                EventRegistry.callEvent(receiveEvent);
+
+                // 如果事件被取消或不转发，直接返回
+                if (receiveEvent.isCancelled() || !receiveEvent.isForwarded()) {
+                    receiveEvent.getPacket().release();
+                    return;
+                }
+
+                // 使用事件中可能被修改的数据包
+                finalPacket = receiveEvent.getPacket();
             }
-            
-            // 使用事件中可能被修改的数据包
-            IMinecraftPacket finalPacket = receiveEvent.getPacket();
 
             HandleResult result = finalPacket.handle(ctx);
-            if (result == HandleResult.FORWARD) {
-                if (connection != null) {
-                    Channel channel = connection.getDownstreamChannel();
-                    if (channel != null) {
-                        if (channel.eventLoop().inEventLoop()) {
-                            channel.writeAndFlush(finalPacket);
-                        } else {
-                            channel.eventLoop().execute(() -> {
-                                channel.writeAndFlush(finalPacket);
-                            });
-                        }
-                    }
-                }
+            if (result == HandleResult.PENDING) {
+                return;
+            }
+            if (result != HandleResult.FORWARD) {
+                // 不转发的包不会经过编码器，需要释放其保留的原始帧
+                finalPacket.release();
+                return;
+            }
+            // 前面还有等待插件结果的聊天/命令时排在其后转发
+            IMinecraftPacket forwarded = finalPacket;
+            if (connection != null && connection.runAfterPendingEvents(() -> connection.forwardDownstream(forwarded))) {
+                return;
+            }
+            Channel channel = connection != null ? connection.getDownstreamChannel() : null;
+            if (channel == null) {
+                finalPacket.release();
+                return;
             }
+            // 只写不 flush，本批读取结束时统一 flush
+            PacketFlusher.of(channel).write(finalPacket, NetworkPacketRegistry.isImmediateFlush(finalPacket));
         } catch (Exception e) {
             log.error("Error while handling packet", e);
             ctx.channel().close();
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
+        Channel downstream = connection != null ? connection.getDownstreamChannel() : null;
+        if (downstream != null) {
+            PacketFlusher.of(downstream).readComplete();
+        }
+        super.channelReadComplete(ctx);
+    }
+
+    /**
+     * 客户端写缓冲区超过高水位时暂停读取下游，回落到低水位后恢复
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (backpressure) {
+            PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
+            Channel downstream = connection != null ? connection.getDownstreamChannel() : null;
+            if (downstream != null) {
+                downstream.config().setAutoRead(ctx.channel().isWritable());
+            }
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
+        if (connection != null) {
+            // 不再等待插件结果，排队的包随之释放
+            connection.closeInboundEvents();
+        }
         ProxiedPlayer player = PlayerManager.getInstance().getPlayerByUpstreamChannel(ctx.channel());
         if (player != null) {
             log.info(TranslateManager.translate("sliderproxy.network.connection.disconnected", player.getName()));
@@ -2,51 +2,44 @@ package net.slidermc.sliderproxy.network.netty;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import net.slidermc.sliderproxy.network.codec.StreamCipher;
 
-import javax.crypto.Cipher;
-import javax.crypto.ShortBufferException;
+import java.util.List;
 
 /**
  * AES/CFB8 加密处理器
+ * 出站缓冲区在写出后不再被使用，直接在原缓冲区上加密，不分配新的缓冲区；只有由多段组成的缓冲区才会先合并到一块直接内存
  */
-public class CipherEncoder extends MessageToByteEncoder<ByteBuf> {
+public class CipherEncoder extends MessageToMessageEncoder<ByteBuf> {
 
-    private final Cipher cipher;
-    private byte[] inputBuffer = new byte[0];
-    private byte[] outputBuffer = new byte[0];
+    private final StreamCipher cipher;
 
-    public CipherEncoder(Cipher cipher) {
+    public CipherEncoder(StreamCipher cipher) {
         this.cipher = cipher;
     }
 
     @Override
-    protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception {
-        int readableBytes = msg.readableBytes();
-        
-        // 确保输入缓冲区足够大
-        if (inputBuffer.length < readableBytes) {
-            inputBuffer = new byte[readableBytes];
-        }
-        
-        // 读取明文数据
-        msg.readBytes(inputBuffer, 0, readableBytes);
-        
-        // 计算加密后的输出大小
-        int outputSize = cipher.getOutputSize(readableBytes);
-        if (outputBuffer.length < outputSize) {
-            outputBuffer = new byte[outputSize];
-        }
-        
-        // 加密数据
-        int encryptedLength;
+    protected void encode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws Exception {
+        ByteBuf buf = ensureSingleNioBuffer(ctx, msg);
         try {
-            encryptedLength = cipher.update(inputBuffer, 0, readableBytes, outputBuffer);
-        } catch (ShortBufferException e) {
-            throw new RuntimeException("Cipher output buffer too small", e);
+            cipher.process(buf);
+            out.add(buf);
+            buf = null;
+        } finally {
+            if (buf != null) buf.release();
+        }
+    }
+
+    /**
+     * 返回一个可原地处理的缓冲区（引用计数 +1）：单段可写缓冲区直接复用，否则复制到池化的直接内存
+     */
+    static ByteBuf ensureSingleNioBuffer(ChannelHandlerContext ctx, ByteBuf buf) {
+        if (buf.nioBufferCount() == 1 && !buf.isReadOnly()) {
+            return buf.retain();
         }
-        
-        // 写入加密数据
-        out.writeBytes(outputBuffer, 0, encryptedLength);
+        ByteBuf copy = ctx.alloc().directBuffer(buf.readableBytes());
+        copy.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+        return copy;
     }
 }
@@ -0,0 +1,14 @@
+package net.slidermc.sliderproxy.network.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * 已经是压缩格式的完整帧（Packet Length + Data Length + 压缩数据）
+ * 由压缩透传路径产生，CompressionEncoder 遇到时直接写出，不再重新压缩
+ */
+public class CompressedFrame extends DefaultByteBufHolder {
+    public CompressedFrame(ByteBuf frame) {
+        super(frame);
+    }
+}
@@ -1,71 +1,99 @@
 package net.slidermc.sliderproxy.network.netty;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.codec.CodecProviders;
+import net.slidermc.sliderproxy.network.codec.ZlibDecompressor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 
-public class CompressionDecoder extends ByteToMessageDecoder {
+/**
+ * 压缩解码步骤：输入为 FrameDecoder 切分后的 Data Length + 数据，由 FrameDecoder 逐帧调用
+ * 解压到池化的直接内存，不经过中间 byte[]；zlib 实现由 CodecProviders 选择
+ */
+public class CompressionDecoder {
+    private static final Logger log = LoggerFactory.getLogger(CompressionDecoder.class);
+
     private final int threshold;
-    private final Inflater inflater;
+    private final int maxUncompressedSize;
+    private final ZlibDecompressor decompressor;
 
     public CompressionDecoder(int threshold) {
+        this(threshold, CompressionHandlers.DEFAULT_MAX_UNCOMPRESSED_SIZE);
+    }
+
+    public CompressionDecoder(int threshold, int maxUncompressedSize) {
         this.threshold = threshold;
-        this.inflater = new Inflater();
+        this.maxUncompressedSize = maxUncompressedSize;
+        this.decompressor = CodecProviders.getInstance().getZlibProvider().createDecompressor();
     }
 
-    @Override
+    /**
+     * 解码一个完整的帧，in 只在本次调用内有效，输出的缓冲区需自行持有引用
+     */
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
         if (!in.isReadable()) return;
 
-        // 标记读取位置，以防解析失败需要回退
-        in.markReaderIndex();
-
-        try {
-            // 读取 Data Length（这是FrameDecoder切分后的包内容的开头）
-            int dataLength = MinecraftProtocolHelper.readVarInt(in);
-
-            if (dataLength == 0) {
-                // 未压缩：Data Length = 0，剩余的是完整的 Packet ID + Data
-                ByteBuf uncompressed = in.readRetainedSlice(in.readableBytes());
-                out.add(uncompressed);
-            } else {
-                // 压缩：Data Length 是解压后的长度
-                // 剩余的都是压缩数据（FrameDecoder已经根据Packet Length切好了）
-                byte[] compressedData = new byte[in.readableBytes()];
-                in.readBytes(compressedData);
+        // 读取 Data Length（这是FrameDecoder切分后的包内容的开头）
+        int dataLength = MinecraftProtocolHelper.readVarInt(in);
 
-                // 解压缩
-                byte[] uncompressedData = new byte[dataLength];
-                inflater.setInput(compressedData);
+        if (dataLength == 0) {
+            // 未压缩：Data Length = 0，剩余的是完整的 Packet ID + Data
+            out.add(in.readRetainedSlice(in.readableBytes()));
+            return;
+        }
 
-                int resultLength = inflater.inflate(uncompressedData);
-                if (resultLength != dataLength) {
-                    throw new DataFormatException("解压缩长度不匹配: 期望 " + dataLength + ", 实际 " + resultLength);
-                }
-                inflater.reset();
+        // 压缩：Data Length 是解压后的长度，先校验再分配
+        if (dataLength < threshold) {
+            reject(ctx, in, "解压长度 " + dataLength + " 低于压缩阈值 " + threshold);
+            return;
+        }
+        if (dataLength > maxUncompressedSize) {
+            reject(ctx, in, "解压长度 " + dataLength + " 超过上限 " + maxUncompressedSize);
+            return;
+        }
 
-                out.add(Unpooled.wrappedBuffer(uncompressedData));
-            }
-        } catch (Exception e) {
-            // 解析失败，回退到原始位置
-            in.resetReaderIndex();
-            throw e;
+        ByteBuf uncompressed = ctx.alloc().directBuffer(dataLength, dataLength);
+        String error = null;
+        try {
+            // 解压到容量固定为 dataLength 的缓冲区，实际数据多于或少于声明长度时中止
+            decompressor.inflate(in, uncompressed, dataLength);
+            out.add(uncompressed);
+            uncompressed = null;
+        } catch (DataFormatException e) {
+            error = e.getMessage();
+        } finally {
+            if (uncompressed != null) uncompressed.release();
+        }
+        // 关闭连接可能会移除处理器并释放解压器，必须在解压结束之后
+        if (error != null) {
+            reject(ctx, in, error);
         }
     }
 
-    @Override
-    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
-        super.channelInactive(ctx);
-        inflater.end();
+    private void reject(ChannelHandlerContext ctx, ByteBuf in, String reason) {
+        FrameLimits.recordRejectedDecompression();
+        log.warn("拒绝来自 {} 的压缩包: {}", ctx.channel().remoteAddress(), reason);
+        in.skipBytes(in.readableBytes());
+        ctx.close();
+    }
+
+    /**
+     * 释放解压器，由 FrameDecoder 在替换压缩步骤或被移除时调用
+     */
+    public void close() {
+        decompressor.close();
     }
 
     public int getThreshold() {
         return threshold;
     }
-}
\ No newline at end of file
+
+    public int getMaxUncompressedSize() {
+        return maxUncompressedSize;
+    }
+}
@@ -2,28 +2,53 @@ package net.slidermc.sliderproxy.network.netty;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.codec.CodecProviders;
+import net.slidermc.sliderproxy.network.codec.ZlibCompressor;
 
 import java.util.zip.Deflater;
 
+/**
+ * 压缩编码器：输入为 Packet Length + Packet ID + Data，输出为 Packet Length + Data Length + (压缩)数据
+ * 压缩到池化的直接内存，输出空间不足时扩容，不再截断大包；zlib 实现由 CodecProviders 选择
+ */
 public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
     private final int threshold;
-    private final Deflater deflater;
-    private final byte[] buffer = new byte[8192]; // 重用缓冲区
+    private final ZlibCompressor compressor;
 
     public CompressionEncoder(int threshold) {
+        this(threshold, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public CompressionEncoder(int threshold, int level) {
+        super(true);
         this.threshold = threshold;
-        this.deflater = new Deflater();
+        this.compressor = CodecProviders.getInstance().getZlibProvider().createCompressor(level);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof CompressedFrame frame) {
+            // 透传的压缩帧已经是当前阈值下的格式
+            ctx.write(frame.content(), promise);
+            return;
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect) {
+        // 未压缩时多出一个字节的 Data Length；压缩后通常更小，不够时 deflate 循环中再扩容
+        return ctx.alloc().directBuffer(MinecraftProtocolHelper.MAX_VARINT_SIZE * 2 + msg.readableBytes());
     }
 
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception {
         // msg 来自 PacketEncoder，格式为：Packet Length + Packet ID + Data
-        // 我们需要提取 Packet ID + Data，然后压缩
-
         // 读取并丢弃原有的 Packet Length（我们稍后会重新计算）
-        int originalPacketLength = MinecraftProtocolHelper.readVarInt(msg);
+        MinecraftProtocolHelper.readVarInt(msg);
 
         // 剩余的是 Packet ID + Data
         int dataLength = msg.readableBytes();
@@ -34,33 +59,28 @@ public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
             MinecraftProtocolHelper.writeVarInt(out, dataLength + MinecraftProtocolHelper.getVarIntSize(0));
             MinecraftProtocolHelper.writeVarInt(out, 0);
             out.writeBytes(msg);
-        } else {
-            // 压缩：需要压缩 Packet ID + Data
-            byte[] uncompressedData = new byte[dataLength];
-            msg.readBytes(uncompressedData);
-
-            deflater.setInput(uncompressedData);
-            deflater.finish();
+            return;
+        }
 
-            // 使用重用的缓冲区进行压缩
-            int compressedLength = deflater.deflate(buffer);
-            deflater.reset();
+        // 压缩：预留 Packet Length，写入 Data Length 与压缩数据后回填
+        int start = out.writerIndex();
+        out.writerIndex(start + MinecraftProtocolHelper.MAX_VARINT_SIZE);
+        MinecraftProtocolHelper.writeVarInt(out, dataLength);
+        compressor.deflate(msg, out);
 
-            // 输出：Packet Length + Data Length + 压缩数据
-            int packetLength = MinecraftProtocolHelper.getVarIntSize(dataLength) + compressedLength;
-            MinecraftProtocolHelper.writeVarInt(out, packetLength);
-            MinecraftProtocolHelper.writeVarInt(out, dataLength);
-            out.writeBytes(buffer, 0, compressedLength);
-        }
+        int packetLength = out.writerIndex() - start - MinecraftProtocolHelper.MAX_VARINT_SIZE;
+        int lengthStart = start + MinecraftProtocolHelper.MAX_VARINT_SIZE - MinecraftProtocolHelper.getVarIntSize(packetLength);
+        MinecraftProtocolHelper.setVarInt(out, lengthStart, packetLength);
+        out.readerIndex(lengthStart);
     }
 
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         super.handlerRemoved(ctx);
-        deflater.end();
+        compressor.close();
     }
 
     public int getThreshold() {
         return threshold;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package net.slidermc.sliderproxy.network.netty;
+
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import net.slidermc.sliderproxy.network.netty.downstream.CompressedPassthroughDecoder;
+
+import java.util.zip.Deflater;
+
+/**
+ * 压缩的启用与关闭：解压是 FrameDecoder 中的一个步骤，压缩仍是独立的出站处理器；压缩等级与解压上限从配置读取
+ */
+public final class CompressionHandlers {
+    public static final String ENCODER_NAME = "compression-encoder";
+
+    /** 协议允许的最大解压长度 (8 MiB) */
+    public static final int DEFAULT_MAX_UNCOMPRESSED_SIZE = 8 * 1024 * 1024;
+
+    private CompressionHandlers() {}
+
+    /**
+     * 按阈值启用压缩，threshold 为负数时关闭压缩（0 表示所有包都压缩）
+     * 管线中需要存在 frame-decoder 与 packet-encoder；不在事件循环中调用时提交到事件循环执行，保持与之前写出的包的顺序
+     */
+    public static void install(ChannelPipeline pipeline, int threshold) {
+        install(pipeline, threshold, false);
+    }
+
+    /**
+     * 为下游连接启用压缩，启用压缩透传时使用 CompressedPassthroughDecoder
+     */
+    public static void installDownstream(ChannelPipeline pipeline, int threshold) {
+        install(pipeline, threshold, isPassthroughEnabled());
+    }
+
+    private static void install(ChannelPipeline pipeline, int threshold, boolean passthrough) {
+        EventLoop eventLoop = pipeline.channel().eventLoop();
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> install(pipeline, threshold, passthrough));
+            return;
+        }
+        FrameDecoder frameDecoder = pipeline.get(FrameDecoder.class);
+        if (pipeline.get(ENCODER_NAME) != null) {
+            pipeline.remove(ENCODER_NAME);
+        }
+        if (threshold < 0) {
+            if (frameDecoder != null) {
+                frameDecoder.setCompression(null);
+            }
+            return;
+        }
+        if (frameDecoder != null) {
+            frameDecoder.setCompression(passthrough
+                    ? new CompressedPassthroughDecoder(threshold, getMaxUncompressedSize())
+                    : new CompressionDecoder(threshold, getMaxUncompressedSize()));
+        }
+        pipeline.addBefore("packet-encoder", ENCODER_NAME, new CompressionEncoder(threshold, getCompressionLevel()));
+    }
+
+    /**
+     * 获取管线当前的压缩阈值，未启用压缩时返回 -1
+     */
+    public static int getThreshold(ChannelPipeline pipeline) {
+        FrameDecoder frameDecoder = pipeline.get(FrameDecoder.class);
+        CompressionDecoder compression = frameDecoder != null ? frameDecoder.getCompression() : null;
+        return compression != null ? compression.getThreshold() : -1;
+    }
+
+    public static void remove(ChannelPipeline pipeline) {
+        install(pipeline, -1, false);
+    }
+
+    /**
+     * 是否启用压缩透传 (network.compression-passthrough)
+     * 启用后客户端沿用子服务器的压缩阈值，无需解码的包以原始压缩数据转发给客户端
+     */
+    public static boolean isPassthroughEnabled() {
+        YamlConfiguration configuration = RunningData.configuration;
+        return configuration != null && configuration.getBoolean("network.compression-passthrough", false);
+    }
+
+    /**
+     * 压缩等级 (proxy.compression-level)，-1 为 zlib 默认等级，其余取值范围 0-9
+     */
+    public static int getCompressionLevel() {
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration == null) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        int level = configuration.getInt("proxy.compression-level", Deflater.DEFAULT_COMPRESSION);
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        return level;
+    }
+
+    /**
+     * 压缩包声明的解压长度上限 (proxy.max-uncompressed-size)
+     */
+    public static int getMaxUncompressedSize() {
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration == null) {
+            return DEFAULT_MAX_UNCOMPRESSED_SIZE;
+        }
+        int max = configuration.getInt("proxy.max-uncompressed-size", DEFAULT_MAX_UNCOMPRESSED_SIZE);
+        return max > 0 ? max : DEFAULT_MAX_UNCOMPRESSED_SIZE;
+    }
+}
@@ -1,38 +1,158 @@
 package net.slidermc.sliderproxy.network.netty;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.ProtocolState;
+import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
+import net.slidermc.sliderproxy.network.codec.StreamCipher;
+import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.packet.PacketDirection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.security.GeneralSecurityException;
 import java.util.List;
 
 /**
- * Minecraft 协议帧解码器：
- * 基于 VarInt Length 将 TCP 流切分为完整的 Minecraft 包。
+ * Minecraft 协议入站解码器，合并了解密、分帧与解压三个步骤：
+ * 收到的数据先原地解密再进入唯一的累积缓冲区，按 VarInt Length 切分为完整的包，启用压缩时再逐帧解压。
+ * 长度前缀读出后立即按当前协议状态校验上限，超限直接断开，不等待数据累积。
+ * 加密与压缩通过 enableDecryption / setCompression 原地切换，不再增删管线处理器，这两个方法只能在事件循环中调用。
  */
 public class FrameDecoder extends ByteToMessageDecoder {
+    private static final Logger log = LoggerFactory.getLogger(FrameDecoder.class);
+
+    private final PacketDirection direction;
+    private StreamCipher cipher;
+    private volatile CompressionDecoder compression;
+
+    /**
+     * @param direction 入站数据包的流向：上游为 SERVERBOUND，下游为 CLIENTBOUND
+     */
+    public FrameDecoder(PacketDirection direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * 启用解密。累积缓冲区中还未切分的字节同样是密文，立即原地解密
+     */
+    public void enableDecryption(StreamCipher cipher) throws GeneralSecurityException {
+        ByteBuf cumulation = internalBuffer();
+        if (cumulation.isReadable()) {
+            cipher.process(cumulation);
+        }
+        this.cipher = cipher;
+    }
+
+    /**
+     * 替换当前的解压步骤，传入 null 表示关闭压缩；对下一个切分出的帧生效
+     */
+    public void setCompression(CompressionDecoder compression) {
+        CompressionDecoder old = this.compression;
+        this.compression = compression;
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    public CompressionDecoder getCompression() {
+        return compression;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (cipher != null && msg instanceof ByteBuf in) {
+            // 新到达的数据在进入累积缓冲区之前原地解密
+            ByteBuf buf = CipherEncoder.ensureSingleNioBuffer(ctx, in);
+            in.release();
+            try {
+                cipher.process(buf);
+            } catch (GeneralSecurityException e) {
+                buf.release();
+                log.error("解密来自 {} 的数据失败", ctx.channel().remoteAddress(), e);
+                ctx.close();
+                return;
+            }
+            msg = buf;
+        }
+        super.channelRead(ctx, msg);
+    }
+
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        in.markReaderIndex(); // 标记当前位置，用于回滚
+        if (!ctx.channel().isActive()) {
+            in.skipBytes(in.readableBytes());
+            return;
+        }
 
-        // 尝试读取 VarInt (Length)
-        int length = MinecraftProtocolHelper.readVarInt(in);
-        if (length == -1) {
+        // 读取 VarInt 长度前缀，最多 3 字节
+        int start = in.readerIndex();
+        int length = 0;
+        int prefixSize = 0;
+        boolean complete = false;
+        while (prefixSize < FrameLimits.MAX_LENGTH_PREFIX_SIZE && in.readerIndex() < in.writerIndex()) {
+            byte read = in.readByte();
+            length |= (read & 0x7F) << (7 * prefixSize++);
+            if ((read & 0x80) == 0) {
+                complete = true;
+                break;
+            }
+        }
+        if (!complete) {
+            if (prefixSize >= FrameLimits.MAX_LENGTH_PREFIX_SIZE) {
+                reject(ctx, in, "长度前缀超过 " + FrameLimits.MAX_LENGTH_PREFIX_SIZE + " 字节");
+                return;
+            }
             // VarInt 还没读全，回滚
-            in.resetReaderIndex();
+            in.readerIndex(start);
+            return;
+        }
+
+        int maxLength = FrameLimits.getMaxFrameLength(direction, currentState(ctx.channel()));
+        if (length > maxLength) {
+            reject(ctx, in, "帧长度 " + length + " 超过上限 " + maxLength);
             return;
         }
 
         // 检查剩余可读字节是否够这个包
         if (in.readableBytes() < length) {
             // 数据不完整，回滚
-            in.resetReaderIndex();
+            in.readerIndex(start);
+            return;
+        }
+
+        CompressionDecoder compression = this.compression;
+        if (compression != null) {
+            // 解压结果为新的缓冲区或带引用计数的切片，这里的切片只在本次调用内使用
+            compression.decode(ctx, in.readSlice(length), out);
             return;
         }
 
-        // 把完整的包切出来
-        ByteBuf frame = in.readBytes(length);
+        // 把完整的包切出来（共享底层内存，不复制）
+        ByteBuf frame = in.readRetainedSlice(length);
         out.add(frame); // 交给下一个 handler
     }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) throws Exception {
+        setCompression(null);
+    }
+
+    private ProtocolState currentState(Channel channel) {
+        if (direction == PacketDirection.SERVERBOUND) {
+            PlayerConnection connection = PlayerConnection.fromChannel(channel);
+            return connection != null ? connection.getUpstreamInboundProtocolState() : null;
+        }
+        MinecraftNettyClient client = MinecraftNettyClient.fromChannel(channel);
+        return client != null ? client.getInboundProtocolState() : null;
+    }
+
+    private void reject(ChannelHandlerContext ctx, ByteBuf in, String reason) {
+        FrameLimits.recordRejectedFrame();
+        log.warn("拒绝来自 {} 的数据帧: {}", ctx.channel().remoteAddress(), reason);
+        in.skipBytes(in.readableBytes());
+        ctx.close();
+    }
 }
@@ -0,0 +1,63 @@
+package net.slidermc.sliderproxy.network.netty;
+
+import net.slidermc.sliderproxy.network.ProtocolState;
+import net.slidermc.sliderproxy.network.packet.PacketDirection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 帧大小限制与拒绝计数
+ * 握手/状态/登录阶段只允许很小的帧，长度前缀一读出就校验，单个连接在被拒绝前最多只能让代理缓存这么多数据
+ */
+public final class FrameLimits {
+    /** 长度前缀最多 3 字节 VarInt */
+    public static final int MAX_LENGTH_PREFIX_SIZE = 3;
+    /** 协议允许的最大帧长度 (2^21 - 1) */
+    public static final int MAX_PROTOCOL_FRAME_LENGTH = (1 << 21) - 1;
+
+    private static final LongAdder rejectedFrames = new LongAdder();
+    private static final LongAdder rejectedDecompressions = new LongAdder();
+
+    private FrameLimits() {}
+
+    /**
+     * 获取指定方向与协议状态下允许的最大帧长度
+     * @param direction 数据包流向（SERVERBOUND 为客户端发来的包）
+     * @param state 协议状态，未知时按握手阶段处理
+     */
+    public static int getMaxFrameLength(PacketDirection direction, ProtocolState state) {
+        if (state == null) {
+            return 1024;
+        }
+        return switch (state) {
+            case HANDSHAKE -> 1024;
+            // 子服务器的状态响应可能带服务器图标
+            case STATUS -> direction == PacketDirection.SERVERBOUND ? 1024 : 64 * 1024;
+            // 子服务器的登录成功包带皮肤属性，登录插件消息也可能较大
+            case LOGIN -> direction == PacketDirection.SERVERBOUND ? 8 * 1024 : 64 * 1024;
+            case CONFIGURATION, PLAY -> MAX_PROTOCOL_FRAME_LENGTH;
+        };
+    }
+
+    public static void recordRejectedFrame() {
+        rejectedFrames.increment();
+    }
+
+    public static void recordRejectedDecompression() {
+        rejectedDecompressions.increment();
+    }
+
+    /**
+     * 因长度超限被拒绝的帧数
+     */
+    public static long getRejectedFrames() {
+        return rejectedFrames.sum();
+    }
+
+    /**
+     * 因声明长度非法或实际解压长度不符被拒绝的压缩包数
+     */
+    public static long getRejectedDecompressions() {
+        return rejectedDecompressions.sum();
+    }
+}
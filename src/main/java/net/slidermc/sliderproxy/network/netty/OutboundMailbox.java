@@ -0,0 +1,118 @@
+package net.slidermc.sliderproxy.network.netty;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.PlatformDependent;
+import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 连接的出站邮箱
+ * 事件循环外的线程写出时把包放入多生产者单消费者队列，每批只向事件循环提交一个任务，
+ * 由该任务一次写出队列中的所有包并只 flush 一次，避免每个包一个任务
+ * 同一线程提交的包保持先后顺序
+ */
+public final class OutboundMailbox {
+    private static final Logger log = LoggerFactory.getLogger(OutboundMailbox.class);
+    private static final AttributeKey<OutboundMailbox> KEY = AttributeKey.valueOf("outbound_mailbox");
+    /** 单个任务最多写出的包数 */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final Channel channel;
+    private final Queue<Object> queue = PlatformDependent.newMpscQueue();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drainTask = this::drain;
+
+    private OutboundMailbox(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * 获取 channel 的出站邮箱，首次调用时创建
+     */
+    @NotNull
+    public static OutboundMailbox of(@NotNull Channel channel) {
+        Attribute<OutboundMailbox> attribute = channel.attr(KEY);
+        OutboundMailbox mailbox = attribute.get();
+        if (mailbox == null) {
+            OutboundMailbox created = new OutboundMailbox(channel);
+            mailbox = attribute.setIfAbsent(created);
+            if (mailbox == null) {
+                mailbox = created;
+            }
+        }
+        return mailbox;
+    }
+
+    /**
+     * 写出并 flush，可在任意线程调用；在事件循环中直接写出
+     */
+    public void send(Object msg) {
+        if (channel.eventLoop().inEventLoop()) {
+            channel.writeAndFlush(msg);
+        } else {
+            enqueue(msg);
+        }
+    }
+
+    /**
+     * 放入邮箱，由事件循环中的下一次批量写出处理
+     */
+    public void enqueue(Object msg) {
+        queue.offer(msg);
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                channel.eventLoop().execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                // 事件循环已关闭，连接随之失效
+                log.debug("连接 {} 的事件循环已关闭，丢弃出站数据", channel, e);
+                discard();
+            }
+        }
+    }
+
+    private void drain() {
+        int written = 0;
+        while (true) {
+            Object msg;
+            while ((msg = queue.poll()) != null) {
+                channel.write(msg);
+                if (++written >= MAX_BATCH_SIZE) {
+                    // 生产者持续写入时不独占事件循环，剩余的留给下一个任务
+                    channel.flush();
+                    channel.eventLoop().execute(drainTask);
+                    return;
+                }
+            }
+            scheduled.set(false);
+            // 清除标记之前刚放入的包不会再提交任务，这里重新检查一次
+            if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                break;
+            }
+        }
+        if (written > 0) {
+            channel.flush();
+        }
+    }
+
+    private void discard() {
+        Object msg;
+        while ((msg = queue.poll()) != null) {
+            // 数据包不是 ReferenceCounted：需要自己释放保留的原始帧，池化的包同时归还对象池
+            if (msg instanceof IMinecraftPacket packet) {
+                packet.release();
+            } else {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+        scheduled.set(false);
+    }
+}
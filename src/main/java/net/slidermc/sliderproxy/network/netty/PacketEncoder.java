@@ -8,9 +8,11 @@ import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
 import net.slidermc.sliderproxy.network.packet.PacketDirection;
+import net.slidermc.sliderproxy.network.packet.PacketForwarder;
 import net.slidermc.sliderproxy.network.packet.PacketInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +44,7 @@ public class PacketEncoder extends ChannelOutboundHandlerAdapter {
             PlayerConnection connection = PlayerConnection.fromChannel(ctx.channel());
             if (connection == null) {
                 promise.setFailure(new IllegalStateException("No PlayerConnection found for upstream channel"));
+                packet.release();
                 ctx.close();
                 return;
             }
@@ -51,6 +54,7 @@ public class PacketEncoder extends ChannelOutboundHandlerAdapter {
             MinecraftNettyClient client = MinecraftNettyClient.fromChannel(ctx.channel());
             if (client == null) {
                 promise.setFailure(new IllegalStateException("No MinecraftNettyClient found for downstream channel"));
+                packet.release();
                 ctx.close();
                 return;
             }
@@ -59,6 +63,7 @@ public class PacketEncoder extends ChannelOutboundHandlerAdapter {
 
         if (state == null) {
             promise.setFailure(new IllegalStateException("Cannot determine protocol state for encoding packet: " + packet.getClass().getName()));
+            packet.release();
             ctx.close();
             return;
         }
@@ -66,27 +71,45 @@ public class PacketEncoder extends ChannelOutboundHandlerAdapter {
         PacketInfo info = packetInfoOf(packet, direction, state);
         if (info == null) {
             promise.setFailure(new IllegalStateException("Unregistered packet for state " + state + ": " + packet.getClass().getName()));
+            packet.release();
             ctx.close();
             return;
         }
         int packetId = info.packetId();
 
-        ByteBuf payload = ctx.alloc().buffer();
-        ByteBuf withId = ctx.alloc().buffer();
-        ByteBuf finalBuf = ctx.alloc().buffer();
         try {
-            packet.write(payload);
-            MinecraftProtocolHelper.writeVarInt(withId, packetId);
-            withId.writeBytes(payload);
-            MinecraftProtocolHelper.writeVarInt(finalBuf, withId.readableBytes());
-            finalBuf.writeBytes(withId);
+            // 未被修改的已解码包：直接写出原始帧，跳过重新编码
+            if (packet instanceof ForwardablePacket forwardable) {
+                ByteBuf original = forwardable.takeOriginalFrame(packetId);
+                if (original != null) {
+                    ctx.write(PacketForwarder.prependLength(ctx.alloc(), original), promise);
+                    return;
+                }
+            }
+
+            // 单个缓冲区：预留 VarInt 最大长度，写入包ID与包体后回填长度前缀
+            int expectedSize = packet.getExpectedSize();
+            ByteBuf buf = expectedSize >= 0
+                    ? ctx.alloc().buffer(MinecraftProtocolHelper.MAX_VARINT_SIZE * 2 + expectedSize)
+                    : ctx.alloc().buffer();
+            try {
+                buf.writerIndex(MinecraftProtocolHelper.MAX_VARINT_SIZE);
+                MinecraftProtocolHelper.writeVarInt(buf, packetId);
+                packet.write(buf);
 
-            ctx.write(finalBuf, promise);
-            finalBuf = null;
+                int length = buf.writerIndex() - MinecraftProtocolHelper.MAX_VARINT_SIZE;
+                int start = MinecraftProtocolHelper.MAX_VARINT_SIZE - MinecraftProtocolHelper.getVarIntSize(length);
+                MinecraftProtocolHelper.setVarInt(buf, start, length);
+                buf.readerIndex(start);
+
+                ctx.write(buf, promise);
+                buf = null;
+            } finally {
+                if (buf != null) buf.release();
+            }
         } finally {
-            if (payload != null) payload.release();
-            if (withId != null) withId.release();
-            if (finalBuf != null) finalBuf.release();
+            // 包已写出，来自对象池的实例在此归还
+            packet.release();
         }
     }
 
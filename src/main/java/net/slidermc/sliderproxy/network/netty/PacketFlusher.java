@@ -0,0 +1,175 @@
+package net.slidermc.sliderproxy.network.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
+import net.slidermc.sliderproxy.RunningData;
+import net.slidermc.sliderproxy.api.config.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 转发写出的 flush 合并
+ * 转发的包只 write 不 flush，按 network.flush-policy 决定何时 flush：
+ * read-complete 在来源 channel 一批读取结束 (channelReadComplete) 时 flush，interval 最多每隔 network.flush-interval 微秒 flush 一次，
+ * immediate 与旧行为一致每个包都 flush；带 @FlushImmediately 的包总是立即 flush
+ * 每个目标 channel 一个实例，状态只在该 channel 的事件循环中访问
+ */
+public final class PacketFlusher {
+    private static final Logger log = LoggerFactory.getLogger(PacketFlusher.class);
+    private static final AttributeKey<PacketFlusher> KEY = AttributeKey.valueOf("packet_flusher");
+
+    /** interval 策略的默认间隔 (微秒) */
+    public static final int DEFAULT_FLUSH_INTERVAL_MICROS = 1000;
+
+    public enum Policy {
+        IMMEDIATE("immediate"),
+        READ_COMPLETE("read-complete"),
+        INTERVAL("interval");
+
+        private final String configName;
+
+        Policy(String configName) {
+            this.configName = configName;
+        }
+
+        public String getConfigName() {
+            return configName;
+        }
+
+        @Nullable
+        public static Policy fromConfigName(String name) {
+            for (Policy policy : values()) {
+                if (policy.configName.equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Channel channel;
+    private final Policy policy;
+    private final long intervalNanos;
+    private boolean pending;
+    private ScheduledFuture<?> scheduledFlush;
+
+    private PacketFlusher(Channel channel, Policy policy, long intervalNanos) {
+        this.channel = channel;
+        this.policy = policy;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * 获取目标 channel 的 flush 合并器，首次调用时按当前配置创建
+     */
+    @NotNull
+    public static PacketFlusher of(@NotNull Channel channel) {
+        Attribute<PacketFlusher> attribute = channel.attr(KEY);
+        PacketFlusher flusher = attribute.get();
+        if (flusher == null) {
+            PacketFlusher created = new PacketFlusher(channel, getPolicy(), TimeUnit.MICROSECONDS.toNanos(getFlushIntervalMicros()));
+            flusher = attribute.setIfAbsent(created);
+            if (flusher == null) {
+                flusher = created;
+            }
+        }
+        return flusher;
+    }
+
+    /**
+     * 写出转发的包，可在任意线程调用；事件循环外的写出交给出站邮箱批量写出并 flush
+     * @param immediate 是否立即 flush（对延迟敏感的包）
+     */
+    public void write(Object msg, boolean immediate) {
+        if (channel.eventLoop().inEventLoop()) {
+            write0(msg, immediate);
+        } else {
+            OutboundMailbox.of(channel).enqueue(msg);
+        }
+    }
+
+    /**
+     * 来源 channel 一批读取结束时调用，仅 read-complete 策略下 flush
+     */
+    public void readComplete() {
+        if (policy != Policy.READ_COMPLETE) {
+            return;
+        }
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            flush();
+        } else {
+            // 排在此前提交的写出任务之后
+            eventLoop.execute(this::flush);
+        }
+    }
+
+    private void write0(Object msg, boolean immediate) {
+        if (immediate || policy == Policy.IMMEDIATE) {
+            clearPending();
+            channel.writeAndFlush(msg);
+            return;
+        }
+        // 写入出站缓冲区仍会计入水位线，背压不受影响
+        channel.write(msg);
+        if (!pending) {
+            pending = true;
+            if (policy == Policy.INTERVAL) {
+                scheduledFlush = channel.eventLoop().schedule(this::flush, intervalNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        if (!pending) {
+            return;
+        }
+        clearPending();
+        channel.flush();
+    }
+
+    private void clearPending() {
+        pending = false;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /**
+     * flush 策略 (network.flush-policy)，默认 read-complete
+     */
+    @NotNull
+    public static Policy getPolicy() {
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration == null) {
+            return Policy.READ_COMPLETE;
+        }
+        String configured = configuration.getString("network.flush-policy", Policy.READ_COMPLETE.getConfigName());
+        Policy policy = Policy.fromConfigName(configured);
+        if (policy == null) {
+            log.warn("未知的 flush 策略: {}，将使用 {}", configured, Policy.READ_COMPLETE.getConfigName());
+            return Policy.READ_COMPLETE;
+        }
+        return policy;
+    }
+
+    /**
+     * interval 策略的 flush 间隔 (network.flush-interval，微秒)
+     */
+    public static int getFlushIntervalMicros() {
+        YamlConfiguration configuration = RunningData.configuration;
+        if (configuration == null) {
+            return DEFAULT_FLUSH_INTERVAL_MICROS;
+        }
+        int interval = configuration.getInt("network.flush-interval", DEFAULT_FLUSH_INTERVAL_MICROS);
+        return interval > 0 ? interval : DEFAULT_FLUSH_INTERVAL_MICROS;
+    }
+}
@@ -0,0 +1,120 @@
+package net.slidermc.sliderproxy.network.netty.downstream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.ProtocolState;
+import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
+import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.netty.CompressedFrame;
+import net.slidermc.sliderproxy.network.netty.CompressionDecoder;
+import net.slidermc.sliderproxy.network.netty.PacketFlusher;
+import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
+import net.slidermc.sliderproxy.network.packet.PacketDirection;
+import net.slidermc.sliderproxy.network.packet.PacketForwarder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 下游压缩透传解码器
+ * 客户端与子服务器的压缩阈值一致时，PLAY 阶段无需解码的压缩包只解压开头几个字节判断包ID，
+ * 然后把 Data Length 与压缩数据原样转发给客户端，不做完整解压与重新压缩；其余情况按普通压缩解码处理
+ */
+public class CompressedPassthroughDecoder extends CompressionDecoder {
+    private final Inflater peekInflater = new Inflater();
+    private final ByteBuffer peekBuffer = ByteBuffer.allocate(MinecraftProtocolHelper.MAX_VARINT_SIZE);
+
+    public CompressedPassthroughDecoder(int threshold, int maxUncompressedSize) {
+        super(threshold, maxUncompressedSize);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        Channel upstream = passthroughTarget(ctx);
+        if (upstream == null || in.nioBufferCount() != 1) {
+            super.decode(ctx, in, out);
+            return;
+        }
+
+        int frameStart = in.readerIndex();
+        int dataLength = MinecraftProtocolHelper.readVarInt(in);
+        int dataStart = in.readerIndex();
+        in.readerIndex(frameStart);
+        if (dataLength < getThreshold() || dataLength > getMaxUncompressedSize()) {
+            // 未压缩的小包与非法长度交给普通路径处理
+            super.decode(ctx, in, out);
+            return;
+        }
+
+        int packetId = peekPacketId(in, dataStart, dataLength);
+        NetworkPacketRegistry registry = NetworkPacketRegistry.getInstance();
+        if (packetId < 0 || (registry.getPacketInfo(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, packetId) != null
+                && registry.isDecodeRequired(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, packetId))) {
+            super.decode(ctx, in, out);
+            return;
+        }
+
+        // 未知包或无人关心的包：整帧原样转发
+        ByteBuf frame = PacketForwarder.prependLength(ctx.alloc(), in.readRetainedSlice(in.readableBytes()));
+        PacketFlusher.of(upstream).write(new CompressedFrame(frame), registry.isImmediateFlush(PacketDirection.CLIENTBOUND, ProtocolState.PLAY, packetId));
+    }
+
+    /**
+     * 只有当前活跃下游、PLAY 阶段且客户端压缩阈值与本连接一致时才能透传
+     */
+    private Channel passthroughTarget(ChannelHandlerContext ctx) {
+        MinecraftNettyClient client = MinecraftNettyClient.fromChannel(ctx.channel());
+        if (client == null || client.getInboundProtocolState() != ProtocolState.PLAY) {
+            return null;
+        }
+        PlayerConnection connection = ctx.channel().attr(PlayerConnection.KEY).get();
+        if (connection == null || connection.getDownstreamChannel() != ctx.channel()
+                || connection.getUpstreamCompressionThreshold() != getThreshold()) {
+            return null;
+        }
+        Channel upstream = connection.getUpstreamChannel();
+        return upstream.isActive() ? upstream : null;
+    }
+
+    /**
+     * 只解压开头最多 5 个字节读取包ID，失败时返回 -1
+     */
+    private int peekPacketId(ByteBuf in, int dataStart, int dataLength) {
+        try {
+            peekInflater.setInput(in.nioBuffer(dataStart, in.writerIndex() - dataStart));
+            peekBuffer.clear().limit(Math.min(MinecraftProtocolHelper.MAX_VARINT_SIZE, dataLength));
+            while (peekBuffer.hasRemaining() && !peekInflater.finished()) {
+                if (peekInflater.inflate(peekBuffer) == 0 && (peekInflater.needsInput() || peekInflater.needsDictionary())) {
+                    break;
+                }
+            }
+            peekBuffer.flip();
+
+            int value = 0;
+            int shift = 0;
+            while (peekBuffer.hasRemaining()) {
+                byte b = peekBuffer.get();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+            return -1;
+        } catch (DataFormatException e) {
+            return -1;
+        } finally {
+            peekInflater.reset();
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        peekInflater.end();
+    }
+}
@@ -28,7 +28,7 @@ public class DownstreamChannelInitializer extends ChannelInitializer<Channel> {
         // 注意：不在这里更新 PlayerManager 的映射
         // 由调用方在适当时机（连接成功后）调用 PlayerManager.updateDownstreamChannel
 
-        ch.pipeline().addLast("frame-decoder", new FrameDecoder());
+        ch.pipeline().addLast("frame-decoder", new FrameDecoder(PacketDirection.CLIENTBOUND));
         ch.pipeline().addLast("packet-decoder", new DownstreamPacketDecoder());
         ch.pipeline().addLast("packet-encoder", new PacketEncoder(PacketDirection.SERVERBOUND));
         ch.pipeline().addLast("client-handler", new DownstreamClientHandler());
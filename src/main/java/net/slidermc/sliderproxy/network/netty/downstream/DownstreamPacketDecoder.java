@@ -2,10 +2,11 @@ package net.slidermc.sliderproxy.network.netty.downstream;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.client.MinecraftNettyClient;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
 import net.slidermc.sliderproxy.network.packet.PacketDirection;
@@ -17,13 +18,17 @@ import java.util.List;
 
 import static net.slidermc.sliderproxy.network.packet.PacketForwarder.forwardUnknownPacket;
 
-public class DownstreamPacketDecoder extends ByteToMessageDecoder {
+/**
+ * 下游包解码器：输入为 FrameDecoder 切分（并解密、解压）后的完整帧，每帧只解码一次，无需累积缓冲区
+ */
+public class DownstreamPacketDecoder extends MessageToMessageDecoder<ByteBuf> {
     private static final Logger log = LoggerFactory.getLogger(DownstreamPacketDecoder.class);
 
     @Override
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) throws Exception {
         try {
             byteBuf.markReaderIndex();
+            int frameStart = byteBuf.readerIndex();
 
             int packetId = MinecraftProtocolHelper.readVarInt(byteBuf);
             
@@ -43,11 +48,8 @@ public class DownstreamPacketDecoder extends ByteToMessageDecoder {
                     client.getBindPlayer().getName(),
                     channelHandlerContext.channel().remoteAddress());*/
 
-            PacketInfo packetInfo = NetworkPacketRegistry.getInstance().getPacketInfo(
-                    NetworkPacketRegistry.getInstance().getPacketClass(
-                            PacketDirection.CLIENTBOUND, state, packetId
-                    )
-            );
+            NetworkPacketRegistry registry = NetworkPacketRegistry.getInstance();
+            PacketInfo packetInfo = registry.getPacketInfo(PacketDirection.CLIENTBOUND, state, packetId);
 
             if (packetInfo == null) {
                 // log.debug("❓ 未知下游包: id=0x{}, state={}", Integer.toHexString(packetId), state);
@@ -66,8 +68,16 @@ public class DownstreamPacketDecoder extends ByteToMessageDecoder {
                 return;
             }
 
+            // 无人关心的包：跳过解码，直接转发原始字节
+            if (!registry.isDecodeRequired(PacketDirection.CLIENTBOUND, state, packetId)) {
+                byteBuf.resetReaderIndex();
+                forwardUnknownPacket(channelHandlerContext, byteBuf.readRetainedSlice(byteBuf.readableBytes()), PacketDirection.CLIENTBOUND,
+                        registry.isImmediateFlush(PacketDirection.CLIENTBOUND, state, packetId));
+                return;
+            }
+
             // 包在当前协议阶段已实现
-            IMinecraftPacket packet = NetworkPacketRegistry.getInstance().createPacket(PacketDirection.CLIENTBOUND, state, packetId);
+            IMinecraftPacket packet = registry.createPacket(PacketDirection.CLIENTBOUND, state, packetId);
             if (packet == null) {
                 log.error("已在注册表中找到包，但未能正确实例化包对象");
                 return;
@@ -76,6 +86,10 @@ public class DownstreamPacketDecoder extends ByteToMessageDecoder {
             // 记录读取前的位置
             int beforeRead = byteBuf.readerIndex();
             packet.read(byteBuf);
+            if (packet instanceof ForwardablePacket forwardable) {
+                // 保留原始帧，未被修改时编码器直接写出这些字节
+                forwardable.setOriginalFrame(packetId, byteBuf.retainedSlice(frameStart, byteBuf.writerIndex() - frameStart));
+            }
             int afterRead = byteBuf.readerIndex();
             int bytesRead = afterRead - beforeRead;
             int remainingBytes = byteBuf.readableBytes();
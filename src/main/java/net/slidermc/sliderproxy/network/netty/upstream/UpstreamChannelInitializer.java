@@ -16,7 +16,7 @@ public class UpstreamChannelInitializer extends ChannelInitializer<Channel> {
         connection.setUpstreamInboundProtocolState(ProtocolState.HANDSHAKE);
         connection.setUpstreamOutboundProtocolState(ProtocolState.HANDSHAKE);
 
-        channel.pipeline().addLast("frame-decoder", new FrameDecoder());
+        channel.pipeline().addLast("frame-decoder", new FrameDecoder(PacketDirection.SERVERBOUND));
         channel.pipeline().addLast("packet-decoder", new UpstreamPacketDecoder());
         channel.pipeline().addLast("packet-encoder", new PacketEncoder(PacketDirection.CLIENTBOUND));
         channel.pipeline().addLast("proxy-handler", new UpstreamServerHandler());
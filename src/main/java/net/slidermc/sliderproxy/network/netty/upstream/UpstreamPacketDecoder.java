@@ -2,14 +2,20 @@ package net.slidermc.sliderproxy.network.netty.upstream;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import net.slidermc.sliderproxy.api.player.PlayerManager;
+import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 import net.slidermc.sliderproxy.network.packet.NetworkPacketRegistry;
 import net.slidermc.sliderproxy.network.packet.PacketDirection;
 import net.slidermc.sliderproxy.network.packet.PacketInfo;
+import net.slidermc.sliderproxy.network.packet.serverbound.play.ServerboundSetPlayerPositionAndRotationPacket;
+import net.slidermc.sliderproxy.network.packet.serverbound.play.ServerboundSetPlayerPositionPacket;
+import net.slidermc.sliderproxy.network.packet.serverbound.play.ServerboundSetPlayerRotationPacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,13 +23,17 @@ import java.util.List;
 
 import static net.slidermc.sliderproxy.network.packet.PacketForwarder.forwardUnknownPacket;
 
-public class UpstreamPacketDecoder extends ByteToMessageDecoder {
+/**
+ * 上游包解码器：输入为 FrameDecoder 切分（并解密、解压）后的完整帧，每帧只解码一次，无需累积缓冲区
+ */
+public class UpstreamPacketDecoder extends MessageToMessageDecoder<ByteBuf> {
     private static final Logger log = LoggerFactory.getLogger(UpstreamPacketDecoder.class);
 
     @Override
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) throws Exception {
         try {
             byteBuf.markReaderIndex();
+            int frameStart = byteBuf.readerIndex();
 
             int packetId = MinecraftProtocolHelper.readVarInt(byteBuf);
             PlayerConnection playerConnection = channelHandlerContext.channel().attr(PlayerConnection.KEY).get();
@@ -35,11 +45,8 @@ public class UpstreamPacketDecoder extends ByteToMessageDecoder {
                     playerConnection.getDownstreamChannel() != null,
                     channelHandlerContext.channel().remoteAddress());*/
 
-            PacketInfo packetInfo = NetworkPacketRegistry.getInstance().getPacketInfo(
-                    NetworkPacketRegistry.getInstance().getPacketClass(
-                            PacketDirection.SERVERBOUND, state, packetId
-                    )
-            );
+            NetworkPacketRegistry registry = NetworkPacketRegistry.getInstance();
+            PacketInfo packetInfo = registry.getPacketInfo(PacketDirection.SERVERBOUND, state, packetId);
 
             if (packetInfo == null) {
                 // log.debug("❓ 未知上游包: id=0x{}, state={}", Integer.toHexString(packetId), state);
@@ -56,17 +63,30 @@ public class UpstreamPacketDecoder extends ByteToMessageDecoder {
                 // 游戏阶段：转发未知包到下游服务器
                 byteBuf.resetReaderIndex(); // 重置到包开始位置
                 ByteBuf originalPacket = byteBuf.readRetainedSlice(byteBuf.readableBytes());
-                forwardUnknownPacket(channelHandlerContext, originalPacket, PacketDirection.SERVERBOUND);
+                forwardInOrder(channelHandlerContext, playerConnection, originalPacket, false);
+                return;
+            }
+
+            // 无人关心的包：跳过解码，直接转发原始字节
+            if (!registry.isDecodeRequired(PacketDirection.SERVERBOUND, state, packetId)) {
+                trackMovement(channelHandlerContext, packetInfo.clazz(), byteBuf);
+                byteBuf.resetReaderIndex();
+                forwardInOrder(channelHandlerContext, playerConnection, byteBuf.readRetainedSlice(byteBuf.readableBytes()),
+                        registry.isImmediateFlush(PacketDirection.SERVERBOUND, state, packetId));
                 return;
             }
 
             // 包在当前协议阶段已实现
-            IMinecraftPacket packet = NetworkPacketRegistry.getInstance().createPacket(PacketDirection.SERVERBOUND, state, packetId);
+            IMinecraftPacket packet = registry.createPacket(PacketDirection.SERVERBOUND, state, packetId);
             if (packet == null) {
                 log.error("已在注册表中找到包，但未能正确实例化包对象");
                 return;
             }
             packet.read(byteBuf);
+            if (packet instanceof ForwardablePacket forwardable) {
+                // 保留原始帧，未被修改时编码器直接写出这些字节
+                forwardable.setOriginalFrame(packetId, byteBuf.retainedSlice(frameStart, byteBuf.writerIndex() - frameStart));
+            }
             list.add(packet);
         } catch (Exception e) {
             log.error("Error while decoding packet", e);
@@ -75,4 +95,35 @@ public class UpstreamPacketDecoder extends ByteToMessageDecoder {
             channelHandlerContext.channel().close();
         }
     }
+
+    /**
+     * 以原始字节转发：前面还有等待插件结果的聊天/命令时排在其后（此时已不在本批读取中，写出后立即 flush）
+     */
+    private static void forwardInOrder(ChannelHandlerContext ctx, PlayerConnection connection, ByteBuf frame, boolean immediate) {
+        if (!connection.runAfterPendingEvents(() -> forwardUnknownPacket(ctx, frame, PacketDirection.SERVERBOUND, true))) {
+            forwardUnknownPacket(ctx, frame, PacketDirection.SERVERBOUND, immediate);
+        }
+    }
+
+    /**
+     * 跳过解码的移动包仍需更新 ProxiedPlayer 的坐标与朝向：直接从原始字节读取，不创建包对象
+     */
+    private static void trackMovement(ChannelHandlerContext ctx, Class<?> packetClass, ByteBuf body) {
+        if (packetClass != ServerboundSetPlayerPositionPacket.class
+                && packetClass != ServerboundSetPlayerPositionAndRotationPacket.class
+                && packetClass != ServerboundSetPlayerRotationPacket.class) {
+            return;
+        }
+        ProxiedPlayer player = PlayerManager.getInstance().getPlayerByUpstreamChannel(ctx.channel());
+        if (player == null) {
+            return;
+        }
+        if (packetClass == ServerboundSetPlayerPositionPacket.class) {
+            ServerboundSetPlayerPositionPacket.track(player, body);
+        } else if (packetClass == ServerboundSetPlayerPositionAndRotationPacket.class) {
+            ServerboundSetPlayerPositionAndRotationPacket.track(player, body);
+        } else {
+            ServerboundSetPlayerRotationPacket.track(player, body);
+        }
+    }
 }
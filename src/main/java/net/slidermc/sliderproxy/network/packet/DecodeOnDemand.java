@@ -0,0 +1,22 @@
+package net.slidermc.sliderproxy.network.packet;
+
+import net.slidermc.sliderproxy.api.event.Event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记 PLAY 阶段只在有人关心时才需要解码的数据包
+ * 当没有 PacketReceiveEvent 监听器，也没有 value() 中任一事件的监听器时，
+ * 解码器跳过解码，直接以原始字节转发（与未知包的转发路径相同），handle() 不会被调用
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DecodeOnDemand {
+    /**
+     * handle() 中会触发的事件，存在这些事件的监听器时才解码
+     */
+    Class<? extends Event>[] value() default {};
+}
@@ -0,0 +1,15 @@
+package net.slidermc.sliderproxy.network.packet;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记对延迟敏感的数据包（如心跳）
+ * 转发时不参与 flush 合并，写出后立即 flush，同时带出目标连接上此前尚未 flush 的包
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FlushImmediately {
+}
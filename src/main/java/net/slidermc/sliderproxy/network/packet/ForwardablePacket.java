@@ -0,0 +1,131 @@
+package net.slidermc.sliderproxy.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.Recycler;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 可原样转发的数据包
+ * 解码时保留原始帧（包ID + 包体）的引用，未被修改（非 dirty）时编码器直接转发原始字节，跳过重新序列化
+ * 子类的 setter 以及 handle() 中修改字段时必须先调用 {@link #markDirty()} 再修改（markDirty 会先检查实例是否仍可访问）
+ * 注意：handle() 返回 UNFORWARD 或包被丢弃时原始帧会被释放，因此不要在 handle() 中自行发送 this
+ * 带有 {@link Poolable} 的子类可能来自对象池，release() 后实例归还对象池：
+ * 从归还到被再次取出之前，getter / setter / 再次发送 / 再次 release() 都会抛出 IllegalStateException；
+ * 但实例一旦被对象池再次取出，旧引用读写的就是另一个包（可能属于另一个玩家）的数据，且不会报错。
+ * 需要在事件结束后继续引用包时，先记录 {@link #getGeneration()}，之后用 {@link #ensureGeneration(int)} 检查，
+ * 或者直接复制需要的数据
+ * 实例不是线程安全的，同一时刻只属于一个线程：解码、事件、编码依次在事件循环上进行，
+ * 跨线程交接只经过 OutboundMailbox 的 MPSC 队列或 handleAsync(..., eventLoop)，它们已保证可见性，因此这里不加锁
+ */
+public abstract class ForwardablePacket implements IMinecraftPacket {
+    private ByteBuf originalFrame;
+    private int originalPacketId = -1;
+    private boolean dirty;
+    private Recycler.Handle<ForwardablePacket> recyclerHandle;
+    private volatile boolean recycled;
+    private volatile int generation;
+
+    /**
+     * 由解码器调用，接管 frame 的引用计数
+     */
+    public void setOriginalFrame(int packetId, ByteBuf frame) {
+        releaseFrame();
+        this.originalPacketId = packetId;
+        this.originalFrame = frame;
+        this.dirty = false;
+    }
+
+    /**
+     * 由编码器调用：包未被修改且目标包ID一致时返回原始帧（调用方负责释放），否则返回 null
+     * 原始帧只能被取出一次，同一个包再次发送时会重新编码
+     */
+    @Nullable
+    public ByteBuf takeOriginalFrame(int packetId) {
+        ensureAccessible();
+        ByteBuf frame = originalFrame;
+        originalFrame = null;
+        if (frame != null && (dirty || packetId != originalPacketId)) {
+            frame.release();
+            return null;
+        }
+        return frame;
+    }
+
+    @Override
+    public void markDirty() {
+        ensureAccessible();
+        dirty = true;
+        releaseFrame();
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * 释放原始帧；来自对象池的实例同时归还对象池，不能重复调用
+     */
+    @Override
+    public void release() {
+        ensureAccessible();
+        releaseFrame();
+        if (recyclerHandle != null) {
+            recycled = true;
+            dirty = false;
+            originalPacketId = -1;
+            recyclerHandle.recycle(this);
+        }
+    }
+
+    /**
+     * 实例的代数：对象池每次取出实例时加一，不来自对象池的实例始终为 0
+     * 代数变化说明实例已被复用为另一个包
+     */
+    public final int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * 检查实例仍是记录代数时的那个包：已归还对象池或已被复用时抛出 IllegalStateException
+     * @param generation 之前通过 getGeneration() 记录的代数
+     */
+    public final void ensureGeneration(int generation) {
+        ensureAccessible();
+        if (this.generation != generation) {
+            throw new IllegalStateException(getClass().getSimpleName() + " has been reused for another packet (generation "
+                    + this.generation + ", expected " + generation + "); copy the values you need instead of keeping a reference to the packet");
+        }
+    }
+
+    /**
+     * 实例已归还对象池时抛出 IllegalStateException，@Poolable 子类的 getter 与 setter 应先调用此方法（setter 可通过 markDirty()）
+     */
+    protected final void ensureAccessible() {
+        if (recycled) {
+            throw new IllegalStateException(getClass().getSimpleName() + " has been released and returned to the packet pool; "
+                    + "copy the values you need instead of keeping a reference to the packet");
+        }
+    }
+
+    /**
+     * 由对象池在创建实例时调用
+     */
+    final void setRecyclerHandle(Recycler.Handle<ForwardablePacket> recyclerHandle) {
+        this.recyclerHandle = recyclerHandle;
+    }
+
+    /**
+     * 由注册表在从对象池取出实例时调用
+     */
+    final void reuse() {
+        generation++;
+        recycled = false;
+    }
+
+    private void releaseFrame() {
+        if (originalFrame != null) {
+            originalFrame.release();
+            originalFrame = null;
+        }
+    }
+}
@@ -2,5 +2,9 @@ package net.slidermc.sliderproxy.network.packet;
 
 public enum HandleResult {
     FORWARD,
-    UNFORWARD
+    UNFORWARD,
+    /**
+     * 处理尚未结束（例如在等待异步事件），handle() 接管数据包，之后自行转发或调用 release()
+     */
+    PENDING
 }
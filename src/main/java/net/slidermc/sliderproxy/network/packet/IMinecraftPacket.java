@@ -7,4 +7,21 @@ public interface IMinecraftPacket {
     void read(ByteBuf byteBuf);
     void write(ByteBuf byteBuf);
     HandleResult handle(ChannelHandlerContext ctx);
+
+    /**
+     * 编码后包体（不含包ID）的预期字节数，用于预分配缓冲区；未知时返回 -1
+     */
+    default int getExpectedSize() {
+        return -1;
+    }
+
+    /**
+     * 标记包内容已被修改，转发时需要重新编码
+     */
+    default void markDirty() {}
+
+    /**
+     * 包被丢弃（不再转发）时调用，释放其持有的资源
+     */
+    default void release() {}
 }
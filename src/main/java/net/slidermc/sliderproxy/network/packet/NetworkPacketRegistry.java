@@ -1,73 +1,326 @@
 package net.slidermc.sliderproxy.network.packet;
 
+import io.netty.util.Recycler;
+import net.slidermc.sliderproxy.api.event.Event;
+import net.slidermc.sliderproxy.api.event.EventRegistry;
+import net.slidermc.sliderproxy.api.event.events.PacketReceiveEvent;
 import net.slidermc.sliderproxy.network.ProtocolState;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
+/**
+ * 数据包注册表
+ * 注册时把每个 (方向, 协议状态) 编译为不可变的数组表（包ID -> 工厂/PacketInfo，包类 -> PacketInfo），
+ * 通过 volatile 整体发布，收发包路径上只有数组下标访问，不再有反射与嵌套 Map 查找
+ */
 public class NetworkPacketRegistry {
+    private static final Logger log = LoggerFactory.getLogger(NetworkPacketRegistry.class);
 
     private static final NetworkPacketRegistry instance = new NetworkPacketRegistry();
 
-    // Map<方向, Map<协议状态, Map<包ID, 包类>>>
-    private final Map<PacketDirection, Map<ProtocolState, Map<Integer, Class<? extends IMinecraftPacket>>>> packetMap = new ConcurrentHashMap<>();
+    // 包类 -> 是否带有 @FlushImmediately，供已解码的包转发时查询，避免每个包都读取注解
+    private static final ClassValue<Boolean> IMMEDIATE_FLUSH = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(FlushImmediately.class);
+        }
+    };
+
+    // 注册源数据：方向 -> 协议状态 -> 包ID -> 注册信息，仅在注册时使用
+    private final Map<PacketDirection, Map<ProtocolState, Map<Integer, Registration>>> registrations = new EnumMap<>(PacketDirection.class);
+
+    // 编译后的查找表 [方向][协议状态]，写时复制
+    private volatile PacketTable[][] tables;
 
-    private NetworkPacketRegistry() {}
+    private volatile boolean onDemandDecoding = true;
+    private volatile boolean packetPooling = false;
+
+    private NetworkPacketRegistry() {
+        PacketTable[][] empty = new PacketTable[PacketDirection.values().length][ProtocolState.values().length];
+        for (PacketTable[] row : empty) {
+            Arrays.fill(row, PacketTable.EMPTY);
+        }
+        this.tables = empty;
+    }
 
     public static NetworkPacketRegistry getInstance() {
         return instance;
     }
 
-    public void registerPacket(PacketDirection direction, ProtocolState state, int packetId, Class<? extends IMinecraftPacket> clazz) {
-        packetMap
-                .computeIfAbsent(direction, d -> new ConcurrentHashMap<>())
-                .computeIfAbsent(state, s -> new ConcurrentHashMap<>())
-                .put(packetId, clazz);
+    /**
+     * 注册数据包，通过无参构造器创建实例
+     */
+    public <T extends IMinecraftPacket> void registerPacket(PacketDirection direction, ProtocolState state, int packetId, Class<T> clazz) {
+        registerPacket(direction, state, packetId, clazz, constructorFactory(clazz));
+    }
+
+    /**
+     * 注册数据包，使用指定的工厂创建实例（推荐传入构造器引用，如 {@code MyPacket::new}）
+     */
+    public synchronized <T extends IMinecraftPacket> void registerPacket(PacketDirection direction, ProtocolState state, int packetId,
+                                                                         Class<T> clazz, Supplier<? extends T> factory) {
+        if (packetId < 0) {
+            throw new IllegalArgumentException("Invalid packet id: " + packetId);
+        }
+        Map<Integer, Registration> idMap = registrations
+                .computeIfAbsent(direction, d -> new EnumMap<>(ProtocolState.class))
+                .computeIfAbsent(state, s -> new TreeMap<>());
+        idMap.put(packetId, new Registration(clazz, factory));
+
+        PacketTable[][] copy = tables.clone();
+        copy[direction.ordinal()] = copy[direction.ordinal()].clone();
+        copy[direction.ordinal()][state.ordinal()] = PacketTable.compile(direction, state, idMap);
+        tables = copy;
+    }
+
+    private PacketTable table(PacketDirection direction, ProtocolState state) {
+        return tables[direction.ordinal()][state.ordinal()];
+    }
+
+    /**
+     * 判断数据包是否需要解码为对象
+     * 仅 PLAY 阶段带有 @DecodeOnDemand 的包可以跳过解码：没有 PacketReceiveEvent 监听器，
+     * 也没有其声明事件的监听器时返回 false，调用方应直接转发原始字节
+     */
+    public boolean isDecodeRequired(PacketDirection direction, ProtocolState state, int packetId) {
+        if (!onDemandDecoding || state != ProtocolState.PLAY) {
+            return true;
+        }
+        Class<? extends Event>[] events = table(direction, state).onDemandEvents(packetId);
+        if (events == null) {
+            return true;
+        }
+        if (EventRegistry.hasListeners(PacketReceiveEvent.class)) {
+            return true;
+        }
+        for (Class<? extends Event> event : events) {
+            if (EventRegistry.hasListeners(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 数据包转发后是否需要立即 flush（带有 @FlushImmediately）
+     */
+    public boolean isImmediateFlush(PacketDirection direction, ProtocolState state, int packetId) {
+        return table(direction, state).immediateFlush(packetId);
+    }
+
+    /**
+     * 已解码的数据包转发后是否需要立即 flush，按包类缓存，事件替换过的包也能得到正确结果
+     */
+    public static boolean isImmediateFlush(IMinecraftPacket packet) {
+        return IMMEDIATE_FLUSH.get(packet.getClass());
+    }
+
+    /**
+     * 是否启用按需解码（network.on-demand-decoding）
+     */
+    public void setOnDemandDecoding(boolean onDemandDecoding) {
+        this.onDemandDecoding = onDemandDecoding;
     }
 
     public @Nullable Class<? extends IMinecraftPacket> getPacketClass(PacketDirection direction, ProtocolState state, int packetId) {
-        Map<ProtocolState, Map<Integer, Class<? extends IMinecraftPacket>>> stateMap = packetMap.get(direction);
-        if (stateMap == null) return null;
-        Map<Integer, Class<? extends IMinecraftPacket>> idMap = stateMap.get(state);
-        return idMap != null ? idMap.get(packetId) : null;
+        PacketInfo info = table(direction, state).info(packetId);
+        return info != null ? info.clazz() : null;
     }
 
-    public @Nullable IMinecraftPacket createPacket(PacketDirection direction, ProtocolState state, int packetId)
-            throws IllegalAccessException, InstantiationException, NoSuchMethodException, InvocationTargetException {
-        Class<? extends IMinecraftPacket> clazz = getPacketClass(direction, state, packetId);
-        return clazz != null ? clazz.getDeclaredConstructor().newInstance() : null;
+    /**
+     * 按包ID查找数据包信息，O(1)
+     */
+    public @Nullable PacketInfo getPacketInfo(PacketDirection direction, ProtocolState state, int packetId) {
+        return table(direction, state).info(packetId);
     }
 
-    // @Deprecated
+    /**
+     * 是否启用数据包对象池（network.packet-pooling），只影响带有 @Poolable 的包
+     */
+    public void setPacketPooling(boolean packetPooling) {
+        this.packetPooling = packetPooling;
+    }
+
+    /**
+     * 创建数据包实例，未注册时返回 null
+     * 启用对象池时 @Poolable 包从对象池取出，调用方必须保证其最终被编码或 release()
+     */
+    public @Nullable IMinecraftPacket createPacket(PacketDirection direction, ProtocolState state, int packetId) {
+        PacketTable table = table(direction, state);
+        if (packetPooling) {
+            PacketPool pool = table.pool(packetId);
+            if (pool != null) {
+                ForwardablePacket packet = pool.get();
+                packet.reuse();
+                return packet;
+            }
+        }
+        Supplier<? extends IMinecraftPacket> factory = table.factory(packetId);
+        return factory != null ? factory.get() : null;
+    }
+
+    /**
+     * 遍历所有方向与状态查找包类，仅用于兼容旧代码
+     * @deprecated 同一个包类可能在多个状态下注册，请使用 {@link #getPacketInfo(PacketDirection, ProtocolState, Class)}
+     */
+    @Deprecated
     public @Nullable PacketInfo getPacketInfo(Class<? extends IMinecraftPacket> clazz) {
-        for (Map.Entry<PacketDirection, Map<ProtocolState, Map<Integer, Class<? extends IMinecraftPacket>>>> dirEntry : packetMap.entrySet()) {
-            PacketDirection direction = dirEntry.getKey();
-            for (Map.Entry<ProtocolState, Map<Integer, Class<? extends IMinecraftPacket>>> stateEntry : dirEntry.getValue().entrySet()) {
-                ProtocolState state = stateEntry.getKey();
-                for (Map.Entry<Integer, Class<? extends IMinecraftPacket>> idEntry : stateEntry.getValue().entrySet()) {
-                    if (idEntry.getValue().equals(clazz)) {
-                        return new PacketInfo(idEntry.getKey(), state, direction, clazz);
-                    }
+        for (PacketTable[] row : tables) {
+            for (PacketTable table : row) {
+                PacketInfo info = table.byClass.get(clazz);
+                if (info != null) {
+                    return info;
                 }
             }
         }
         return null;
     }
 
+    /**
+     * 按包类查找数据包信息，O(1)
+     */
     public @Nullable PacketInfo getPacketInfo(PacketDirection direction, ProtocolState state, Class<? extends IMinecraftPacket> clazz) {
-        Map<ProtocolState, Map<Integer, Class<? extends IMinecraftPacket>>> stateMap = packetMap.get(direction);
-        if (stateMap == null) return null;
+        return table(direction, state).byClass.get(clazz);
+    }
+
+    private static <T extends IMinecraftPacket> Supplier<T> constructorFactory(Class<T> clazz) {
+        MethodHandle constructor;
+        try {
+            Constructor<T> declared = clazz.getDeclaredConstructor();
+            declared.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(declared);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Packet class must have an accessible no-arg constructor: " + clazz.getName(), e);
+        }
+        return () -> {
+            try {
+                return clazz.cast(constructor.invoke());
+            } catch (Throwable t) {
+                throw new IllegalStateException("Failed to instantiate packet " + clazz.getName(), t);
+            }
+        };
+    }
+
+    private record Registration(Class<? extends IMinecraftPacket> clazz, Supplier<? extends IMinecraftPacket> factory) {}
+
+    /**
+     * 单个包类的对象池，Recycler 按线程缓存实例，其他线程归还的实例会回到创建它的线程
+     */
+    private static final class PacketPool extends Recycler<ForwardablePacket> {
+        private final Supplier<? extends IMinecraftPacket> factory;
 
-        Map<Integer, Class<? extends IMinecraftPacket>> idMap = stateMap.get(state);
-        if (idMap == null) return null;
+        PacketPool(Supplier<? extends IMinecraftPacket> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        protected ForwardablePacket newObject(Handle<ForwardablePacket> handle) {
+            ForwardablePacket packet = (ForwardablePacket) factory.get();
+            packet.setRecyclerHandle(handle);
+            return packet;
+        }
+    }
 
-        for (Map.Entry<Integer, Class<? extends IMinecraftPacket>> entry : idMap.entrySet()) {
-            if (entry.getValue().equals(clazz)) {
-                return new PacketInfo(entry.getKey(), state, direction, clazz);
+    /**
+     * 单个 (方向, 协议状态) 的不可变查找表
+     */
+    private static final class PacketTable {
+        static final PacketTable EMPTY = new PacketTable(new PacketInfo[0], newFactoryArray(0), newEventsArray(0), new boolean[0],
+                new PacketPool[0], Map.of());
+
+        private final PacketInfo[] infos;
+        private final Supplier<? extends IMinecraftPacket>[] factories;
+        private final Class<? extends Event>[][] onDemandEvents; // null 表示总是需要解码
+        private final boolean[] immediateFlush;
+        private final PacketPool[] pools; // null 表示不可池化
+        private final Map<Class<? extends IMinecraftPacket>, PacketInfo> byClass;
+
+        private PacketTable(PacketInfo[] infos, Supplier<? extends IMinecraftPacket>[] factories,
+                            Class<? extends Event>[][] onDemandEvents, boolean[] immediateFlush, PacketPool[] pools,
+                            Map<Class<? extends IMinecraftPacket>, PacketInfo> byClass) {
+            this.infos = infos;
+            this.factories = factories;
+            this.onDemandEvents = onDemandEvents;
+            this.immediateFlush = immediateFlush;
+            this.pools = pools;
+            this.byClass = byClass;
+        }
+
+        static PacketTable compile(PacketDirection direction, ProtocolState state, Map<Integer, Registration> idMap) {
+            int size = 0;
+            for (int id : idMap.keySet()) {
+                size = Math.max(size, id + 1);
+            }
+            PacketInfo[] infos = new PacketInfo[size];
+            Supplier<? extends IMinecraftPacket>[] factories = newFactoryArray(size);
+            Class<? extends Event>[][] onDemandEvents = newEventsArray(size);
+            boolean[] immediateFlush = new boolean[size];
+            PacketPool[] pools = new PacketPool[size];
+            Map<Class<? extends IMinecraftPacket>, PacketInfo> byClass = new HashMap<>();
+
+            for (Map.Entry<Integer, Registration> entry : idMap.entrySet()) {
+                int id = entry.getKey();
+                Registration registration = entry.getValue();
+                PacketInfo info = new PacketInfo(id, state, direction, registration.clazz());
+                infos[id] = info;
+                factories[id] = registration.factory();
+                byClass.put(registration.clazz(), info);
+
+                DecodeOnDemand onDemand = registration.clazz().getAnnotation(DecodeOnDemand.class);
+                if (onDemand != null) {
+                    onDemandEvents[id] = onDemand.value();
+                }
+                immediateFlush[id] = IMMEDIATE_FLUSH.get(registration.clazz());
+                if (registration.clazz().isAnnotationPresent(Poolable.class)) {
+                    if (ForwardablePacket.class.isAssignableFrom(registration.clazz())) {
+                        pools[id] = new PacketPool(registration.factory());
+                    } else {
+                        log.warn("{} 标记了 @Poolable 但不是 ForwardablePacket 的子类，不会被池化", registration.clazz().getName());
+                    }
+                }
             }
+            return new PacketTable(infos, factories, onDemandEvents, immediateFlush, pools, Map.copyOf(byClass));
+        }
+
+        @Nullable PacketInfo info(int packetId) {
+            return packetId >= 0 && packetId < infos.length ? infos[packetId] : null;
+        }
+
+        @Nullable Supplier<? extends IMinecraftPacket> factory(int packetId) {
+            return packetId >= 0 && packetId < factories.length ? factories[packetId] : null;
+        }
+
+        Class<? extends Event>[] onDemandEvents(int packetId) {
+            return packetId >= 0 && packetId < onDemandEvents.length ? onDemandEvents[packetId] : null;
+        }
+
+        @Nullable PacketPool pool(int packetId) {
+            return packetId >= 0 && packetId < pools.length ? pools[packetId] : null;
+        }
+
+        boolean immediateFlush(int packetId) {
+            return packetId >= 0 && packetId < immediateFlush.length && immediateFlush[packetId];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Supplier<? extends IMinecraftPacket>[] newFactoryArray(int size) {
+            return (Supplier<? extends IMinecraftPacket>[]) new Supplier<?>[size];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Class<? extends Event>[][] newEventsArray(int size) {
+            return (Class<? extends Event>[][]) new Class<?>[size][];
         }
-        return null;
     }
 }
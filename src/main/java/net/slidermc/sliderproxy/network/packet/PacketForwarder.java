@@ -1,10 +1,13 @@
 package net.slidermc.sliderproxy.network.packet;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
+import net.slidermc.sliderproxy.network.netty.PacketFlusher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,36 +15,68 @@ public class PacketForwarder {
 
     private static final Logger log = LoggerFactory.getLogger(PacketForwarder.class);
 
+    // 小于该大小的包直接复制到一个预分配的缓冲区，更大的包用 CompositeByteBuf 拼接长度头避免复制
+    private static final int COMPOSITE_THRESHOLD = 256;
+
     /**
-     * 转发未知包，自动处理压缩和长度重计算
+     * 转发未知包（或无需解码的包），自动处理压缩和长度重计算
      */
     public static void forwardUnknownPacket(ChannelHandlerContext ctx, ByteBuf originalPacket, PacketDirection direction) {
+        forwardUnknownPacket(ctx, originalPacket, direction, false);
+    }
+
+    /**
+     * 转发未知包（或无需解码的包），immediate 为 true 时写出后立即 flush，否则等来源 channel 本批读取结束时再 flush
+     */
+    public static void forwardUnknownPacket(ChannelHandlerContext ctx, ByteBuf originalPacket, PacketDirection direction, boolean immediate) {
+        boolean released = false;
         try {
             Channel targetChannel = getTargetChannel(ctx, direction);
             if (targetChannel == null || !targetChannel.isActive()) {
-                originalPacket.release();
                 return;
             }
 
-            // 重新构建完整的Minecraft包（带长度前缀）
-            ByteBuf newPacket = ctx.alloc().buffer();
-            try {
-                // 写入VarInt长度前缀
-                MinecraftProtocolHelper.writeVarInt(newPacket, originalPacket.readableBytes());
-                // 写入原始包内容
-                newPacket.writeBytes(originalPacket);
+            // 重新构建完整的Minecraft包（带长度前缀），会自动经过压缩编码器等处理
+            released = true; // prependLength 接管引用计数
+            PacketFlusher.of(targetChannel).write(prependLength(ctx.alloc(), originalPacket), immediate);
+        } catch (Exception e) {
+            log.error("转发未知包失败", e);
+        } finally {
+            if (!released) {
+                originalPacket.release();
+            }
+        }
+    }
 
-                // 发送到目标通道（会自动经过压缩编码器等处理）
-                targetChannel.writeAndFlush(newPacket.retain());
+    /**
+     * 为包体加上 VarInt 长度前缀，接管 body 的引用计数
+     * 大包不复制包体，只分配一个很小的长度头
+     */
+    public static ByteBuf prependLength(ByteBufAllocator alloc, ByteBuf body) {
+        int length = body.readableBytes();
+        int headerSize = MinecraftProtocolHelper.getVarIntSize(length);
+        if (length < COMPOSITE_THRESHOLD) {
+            ByteBuf buf = alloc.buffer(headerSize + length);
+            try {
+                MinecraftProtocolHelper.writeVarInt(buf, length);
+                buf.writeBytes(body);
             } finally {
-                newPacket.release();
-                originalPacket.release();
+                body.release();
             }
+            return buf;
+        }
 
-        } catch (Exception e) {
-            log.error("转发未知包失败", e);
-            originalPacket.release();
+        ByteBuf header;
+        try {
+            header = alloc.buffer(headerSize);
+        } catch (Throwable t) {
+            body.release();
+            throw t;
         }
+        MinecraftProtocolHelper.writeVarInt(header, length);
+        CompositeByteBuf composite = alloc.compositeBuffer(2);
+        composite.addComponents(true, header, body);
+        return composite;
     }
 
     private static Channel getTargetChannel(ChannelHandlerContext ctx, PacketDirection direction) {
@@ -61,7 +96,7 @@ public class PacketForwarder {
         try {
             Channel targetChannel = getTargetChannel(ctx, direction);
             if (targetChannel != null && targetChannel.isActive()) {
-                targetChannel.writeAndFlush(rawPacket.retain());
+                PacketFlusher.of(targetChannel).write(rawPacket.retain(), false);
             }
         } finally {
             rawPacket.release();
@@ -0,0 +1,20 @@
+package net.slidermc.sliderproxy.network.packet;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记高频且可复用的数据包（如移动、心跳），只能用于 {@link ForwardablePacket} 的子类
+ * 启用 network.packet-pooling 时，解码器从按线程缓存的对象池中取出实例，包被转发（编码）或被丢弃（release）后归还对象池
+ * 归还后、被再次取出前的实例不能再被访问，getter / setter / 再次发送都会抛出 IllegalStateException；
+ * 被再次取出后旧引用无法察觉，会静默读写另一个包的数据（见 {@link ForwardablePacket#ensureGeneration(int)}），
+ * 因此监听器不能在事件返回后继续持有这类包的引用，需要的数据应当复制出来
+ * 子类的 read() 必须覆盖所有字段，getter 需调用 {@link ForwardablePacket#ensureAccessible()}，
+ * setter 必须先调用 {@link ForwardablePacket#markDirty()} 再修改字段
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Poolable {
+}
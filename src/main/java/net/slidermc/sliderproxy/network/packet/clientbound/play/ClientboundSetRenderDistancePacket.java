@@ -3,12 +3,14 @@ package net.slidermc.sliderproxy.network.packet.clientbound.play;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ClientboundSetRenderDistancePacket implements IMinecraftPacket {
+@DecodeOnDemand
+public class ClientboundSetRenderDistancePacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ClientboundSetRenderDistancePacket.class);
     private int distance;
 
@@ -38,6 +40,7 @@ public class ClientboundSetRenderDistancePacket implements IMinecraftPacket {
     }
 
     public void setDistance(int distance) {
+        markDirty();
         this.distance = distance;
     }
 }
@@ -8,12 +8,16 @@ import net.slidermc.sliderproxy.api.event.events.PlaySoundEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ClientboundSoundEffectPacket implements IMinecraftPacket {
+import java.util.Objects;
+
+@DecodeOnDemand(PlaySoundEvent.class)
+public class ClientboundSoundEffectPacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ClientboundSoundEffectPacket.class);
     private SoundEvent soundEvent;
     private SoundCategory category;
@@ -104,6 +108,12 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
         if (player != null) {
             PlaySoundEvent playSoundEvent = new PlaySoundEvent(player, soundEvent, category, x, y, z, volume, pitch, seed);
             EventRegistry.callEvent(playSoundEvent);
+            // 事件修改过任何字段时需要重新编码
+            boolean changed = !Objects.equals(soundEvent, playSoundEvent.getSoundEvent())
+                    || !Objects.equals(category, playSoundEvent.getCategory())
+                    || x != playSoundEvent.getX() || y != playSoundEvent.getY() || z != playSoundEvent.getZ()
+                    || volume != playSoundEvent.getVolume() || pitch != playSoundEvent.getPitch()
+                    || seed != playSoundEvent.getSeed();
             this.soundEvent = playSoundEvent.getSoundEvent();
             this.category = playSoundEvent.getCategory();
             this.x = playSoundEvent.getX();
@@ -112,6 +122,9 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
             this.volume = playSoundEvent.getVolume();
             this.pitch = playSoundEvent.getPitch();
             this.seed = playSoundEvent.getSeed();
+            if (changed) {
+                markDirty();
+            }
             if (!playSoundEvent.isCancelled()) {
                 return HandleResult.FORWARD;
             } else {
@@ -176,6 +189,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setSoundEvent(SoundEvent soundEvent) {
+        markDirty();
         this.soundEvent = soundEvent;
     }
 
@@ -184,6 +198,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setCategory(SoundCategory category) {
+        markDirty();
         this.category = category;
     }
 
@@ -192,6 +207,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setX(int x) {
+        markDirty();
         this.x = x;
     }
 
@@ -200,6 +216,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setY(int y) {
+        markDirty();
         this.y = y;
     }
 
@@ -208,6 +225,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setZ(int z) {
+        markDirty();
         this.z = z;
     }
 
@@ -216,6 +234,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setVolume(float volume) {
+        markDirty();
         this.volume = volume;
     }
 
@@ -224,6 +243,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
@@ -232,6 +252,7 @@ public class ClientboundSoundEffectPacket implements IMinecraftPacket {
     }
 
     public void setSeed(long seed) {
+        markDirty();
         this.seed = seed;
     }
 }
@@ -4,10 +4,12 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import net.kyori.adventure.text.Component;
 import net.slidermc.sliderproxy.network.AdventureNBTHelper;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 
-public class ClientboundSystemChatPacket implements IMinecraftPacket {
+@DecodeOnDemand
+public class ClientboundSystemChatPacket extends ForwardablePacket {
     private Component component;
     private boolean overlay;
 
@@ -49,6 +51,7 @@ public class ClientboundSystemChatPacket implements IMinecraftPacket {
     }
 
     public void setComponent(Component component) {
+        markDirty();
         this.component = component;
     }
 
@@ -57,6 +60,7 @@ public class ClientboundSystemChatPacket implements IMinecraftPacket {
     }
 
     public void setOverlay(boolean overlay) {
+        markDirty();
         this.overlay = overlay;
     }
 }
\ No newline at end of file
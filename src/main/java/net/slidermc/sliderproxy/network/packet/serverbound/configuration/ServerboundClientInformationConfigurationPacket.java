@@ -10,11 +10,11 @@ import net.slidermc.sliderproxy.api.player.data.ClientInformation;
 import net.slidermc.sliderproxy.api.utils.UnsignedByte;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ServerboundClientInformationConfigurationPacket implements IMinecraftPacket {
+public class ServerboundClientInformationConfigurationPacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ServerboundClientInformationConfigurationPacket.class);
     private String locale;
     private byte viewDistance;
@@ -109,6 +109,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setViewDistance(byte viewDistance) {
+        markDirty();
         this.viewDistance = viewDistance;
     }
 
@@ -117,6 +118,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setLocale(String locale) {
+        markDirty();
         this.locale = locale;
     }
 
@@ -125,6 +127,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setChatMode(ClientInformation.ChatMode chatMode) {
+        markDirty();
         this.chatMode = chatMode;
     }
 
@@ -133,6 +136,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setChatColors(boolean chatColors) {
+        markDirty();
         this.chatColors = chatColors;
     }
 
@@ -141,6 +145,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setDisplayedSkinParts(UnsignedByte displayedSkinParts) {
+        markDirty();
         this.displayedSkinParts = displayedSkinParts;
     }
 
@@ -149,6 +154,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setMainHandType(ClientInformation.MainHandType mainHandType) {
+        markDirty();
         this.mainHandType = mainHandType;
     }
 
@@ -157,6 +163,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setEnableTextFiltering(boolean enableTextFiltering) {
+        markDirty();
         this.enableTextFiltering = enableTextFiltering;
     }
 
@@ -165,6 +172,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setAllowServerListings(boolean allowServerListings) {
+        markDirty();
         this.allowServerListings = allowServerListings;
     }
 
@@ -173,6 +181,7 @@ public class ServerboundClientInformationConfigurationPacket implements IMinecra
     }
 
     public void setParticleStatus(ClientInformation.ParticleStatus particleStatus) {
+        markDirty();
         this.particleStatus = particleStatus;
     }
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package net.slidermc.sliderproxy.network.packet.serverbound.configuration;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import net.slidermc.sliderproxy.network.packet.FlushImmediately;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 
-public class ServerboundKeepAliveConfigurationPacket implements IMinecraftPacket {
+@FlushImmediately
+public class ServerboundKeepAliveConfigurationPacket extends ForwardablePacket {
     private long keepAliveId;
 
     public ServerboundKeepAliveConfigurationPacket() {}
@@ -24,6 +26,11 @@ public class ServerboundKeepAliveConfigurationPacket implements IMinecraftPacket
         byteBuf.writeLong(this.keepAliveId);
     }
 
+    @Override
+    public int getExpectedSize() {
+        return 8;
+    }
+
     @Override
     public HandleResult handle(ChannelHandlerContext ctx) {
         return HandleResult.FORWARD;
@@ -34,6 +41,7 @@ public class ServerboundKeepAliveConfigurationPacket implements IMinecraftPacket
     }
 
     public void setKeepAliveId(long keepAliveId) {
+        markDirty();
         this.keepAliveId = keepAliveId;
     }
 }
@@ -14,13 +14,16 @@ import net.slidermc.sliderproxy.api.player.data.GameProfile;
 import net.slidermc.sliderproxy.api.server.ProxiedServer;
 import net.slidermc.sliderproxy.api.server.ServerManager;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.codec.CipherProvider;
+import net.slidermc.sliderproxy.network.codec.CodecProviders;
+import net.slidermc.sliderproxy.network.codec.StreamCipher;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
 import net.slidermc.sliderproxy.network.encryption.EncryptionUtil;
 import net.slidermc.sliderproxy.network.encryption.LoginState;
 import net.slidermc.sliderproxy.network.encryption.MojangSessionService;
 import net.slidermc.sliderproxy.network.encryption.ServerEncryptionManager;
-import net.slidermc.sliderproxy.network.netty.CipherDecoder;
 import net.slidermc.sliderproxy.network.netty.CipherEncoder;
+import net.slidermc.sliderproxy.network.netty.FrameDecoder;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
 import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
 import net.slidermc.sliderproxy.network.packet.clientbound.login.ClientboundDisconnectLoginPacket;
@@ -28,7 +31,6 @@ import net.slidermc.sliderproxy.translate.TranslateManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
@@ -172,11 +174,13 @@ public class ServerboundEncryptionResponsePacket implements IMinecraftPacket {
      * 启用 AES 加密
      */
     private void enableEncryption(Channel channel, SecretKey secretKey) throws Exception {
-        Cipher encryptCipher = EncryptionUtil.createEncryptCipher(secretKey);
-        Cipher decryptCipher = EncryptionUtil.createDecryptCipher(secretKey);
+        CipherProvider provider = CodecProviders.getInstance().getCipherProvider();
+        StreamCipher encryptCipher = provider.create(secretKey, true);
+        StreamCipher decryptCipher = provider.create(secretKey, false);
 
-        // 在 frame-decoder 之后添加解密器
-        channel.pipeline().addBefore("frame-decoder", "cipher-decoder", new CipherDecoder(decryptCipher));
+        // 解密在 frame-decoder 内原地完成，Encryption Response 之后已累积的字节一并解密
+        FrameDecoder frameDecoder = channel.pipeline().get(FrameDecoder.class);
+        frameDecoder.enableDecryption(decryptCipher);
         // 在 packet-encoder 之前添加加密器
         channel.pipeline().addBefore("packet-encoder", "cipher-encoder", new CipherEncoder(encryptCipher));
         
@@ -196,8 +200,24 @@ public class ServerboundEncryptionResponsePacket implements IMinecraftPacket {
         
         log.info(TranslateManager.translate("sliderproxy.network.connection.connected", 
                 profile.name(), connection.getUpstreamChannel().remoteAddress()));
-        EventRegistry.callEvent(new PlayerLoginEvent(player));
+        // 登录事件的监听器在异步事件线程上执行，全部完成后再回到事件循环连接默认服务器
+        EventRegistry.callEventAsync(new PlayerLoginEvent(player)).whenCompleteAsync((event, throwable) -> {
+            if (throwable != null) {
+                log.error("Login event for {} failed, closing connection", profile.name(), throwable);
+                ctx.channel().close();
+                return;
+            }
+            // 监听器可能已经踢出了玩家
+            if (ctx.channel().isActive()) {
+                connectToDefaultServer(player);
+            }
+        }, ctx.channel().eventLoop());
+    }
 
+    /**
+     * 连接到默认服务器，找不到时踢出玩家
+     */
+    private void connectToDefaultServer(ProxiedPlayer player) {
         // 获取默认服务器
         String defaultServerName = RunningData.configuration.getString("proxy.default-server", "lobby");
         ProxiedServer defaultServer = ServerManager.getInstance().getServer(defaultServerName);
@@ -216,7 +236,7 @@ public class ServerboundEncryptionResponsePacket implements IMinecraftPacket {
         player.connectTo(defaultServer).whenComplete((result, throwable) -> {
             if (throwable != null) {
                 log.error(TranslateManager.translate("sliderproxy.network.connection.defaultserver.failed", 
-                        profile.name()), throwable);
+                        player.getName()), throwable);
             }
         });
     }
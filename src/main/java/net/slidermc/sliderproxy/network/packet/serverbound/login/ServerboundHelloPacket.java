@@ -118,8 +118,26 @@ public class ServerboundHelloPacket implements IMinecraftPacket {
         ProxiedPlayer player = new ProxiedPlayer(new GameProfile(username, uuid), connection);
         PlayerManager.getInstance().registerPlayer(player);
         log.info(TranslateManager.translate("sliderproxy.network.connection.connected", username, connection.getUpstreamChannel().remoteAddress()));
-        EventRegistry.callEvent(new PlayerLoginEvent(player));
+        // 登录事件的监听器在异步事件线程上执行，全部完成后再回到事件循环连接默认服务器
+        EventRegistry.callEventAsync(new PlayerLoginEvent(player)).whenCompleteAsync((event, throwable) -> {
+            if (throwable != null) {
+                log.error("Login event for {} failed, closing connection", username, throwable);
+                ctx.channel().close();
+                return;
+            }
+            // 监听器可能已经踢出了玩家
+            if (ctx.channel().isActive()) {
+                connectToDefaultServer(player);
+            }
+        }, ctx.channel().eventLoop());
 
+        return HandleResult.UNFORWARD;
+    }
+
+    /**
+     * 连接到默认服务器，找不到时踢出玩家
+     */
+    private void connectToDefaultServer(ProxiedPlayer player) {
         // 获取默认服务器
         String defaultServerName = RunningData.configuration.getString("proxy.default-server", "lobby");
         ProxiedServer defaultServer = ServerManager.getInstance().getServer(defaultServerName);
@@ -127,7 +145,7 @@ public class ServerboundHelloPacket implements IMinecraftPacket {
         if (defaultServer == null) {
             log.error(TranslateManager.translate("sliderproxy.network.connection.defaultserver.notfound", defaultServerName));
             player.kick(Component.text(Objects.requireNonNull(TranslateManager.translate("sliderproxy.network.connection.defaultserver.unavailable"))).color(NamedTextColor.RED));
-            return HandleResult.UNFORWARD;
+            return;
         }
 
         // 异步连接到默认服务器
@@ -136,8 +154,6 @@ public class ServerboundHelloPacket implements IMinecraftPacket {
                 log.error(TranslateManager.translate("sliderproxy.network.connection.defaultserver.failed", username), throwable);
             }
         });
-
-        return HandleResult.UNFORWARD;
     }
 
     public UUID getUuid() {
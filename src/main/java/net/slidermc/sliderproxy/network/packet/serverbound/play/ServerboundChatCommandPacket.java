@@ -9,12 +9,13 @@ import net.slidermc.sliderproxy.api.event.events.PlayerCommandEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
+import net.slidermc.sliderproxy.network.connection.PlayerConnection;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ServerboundChatCommandPacket implements IMinecraftPacket {
+public class ServerboundChatCommandPacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ServerboundChatCommandPacket.class);
     private String command;
 
@@ -40,23 +41,50 @@ public class ServerboundChatCommandPacket implements IMinecraftPacket {
     public HandleResult handle(ChannelHandlerContext ctx) {
         ProxiedPlayer player = PlayerManager.getInstance().getPlayerByUpstreamChannel(ctx.channel());
         if (player == null) return HandleResult.FORWARD;
-        
-        // 触发命令事件
-        PlayerCommandEvent commandEvent = new PlayerCommandEvent(player, command);
-        EventRegistry.callEvent(commandEvent);
-        
-        // 如果事件被取消，不执行命令也不转发
-        if (commandEvent.isCancelled()) {
-            log.debug("命令被取消: /{}", command);
-            return HandleResult.UNFORWARD;
-        }
-        
-        // 如果命令被修改，更新命令内容
-        if (commandEvent.isCommandModified()) {
-            this.command = commandEvent.getCommand();
-            log.debug("命令被修改为: /{}", command);
+
+        // 没有监听器，也没有排在前面等待事件结果的聊天/命令时直接处理
+        PlayerConnection connection = PlayerConnection.fromChannel(ctx.channel());
+        if (connection == null
+                || (!EventRegistry.hasListeners(PlayerCommandEvent.class) && connection.isInboundEventChainIdle())) {
+            return dispatchCommand(player);
         }
-        
+
+        // 触发命令事件：监听器在异步事件线程上执行，不阻塞网络线程；结果按先后顺序回到事件循环处理
+        PlayerCommandEvent commandEvent = new PlayerCommandEvent(player, command);
+        connection.callEventInOrder(commandEvent, (result, throwable) -> {
+            if (throwable != null) {
+                log.warn("命令事件处理失败，丢弃命令: /{}", command, throwable);
+                release();
+                return;
+            }
+
+            // 如果事件被取消，不执行命令也不转发
+            if (result.isCancelled()) {
+                log.debug("命令被取消: /{}", command);
+                release();
+                return;
+            }
+
+            // 如果命令被修改，更新命令内容
+            if (result.isCommandModified()) {
+                this.command = result.getCommand();
+                markDirty();
+                log.debug("命令被修改为: /{}", command);
+            }
+
+            if (dispatchCommand(player) == HandleResult.FORWARD) {
+                connection.forwardDownstream(this);
+            } else {
+                release();
+            }
+        });
+        return HandleResult.PENDING;
+    }
+
+    /**
+     * 代理注册的命令在代理执行，其余转发给后端服务器
+     */
+    private HandleResult dispatchCommand(ProxiedPlayer player) {
         // 检查是否是代理注册的命令
         String commandName = command.split(" ")[0];
         if (!CommandManager.getInstance().hasCommand(commandName)) {
@@ -83,6 +111,7 @@ public class ServerboundChatCommandPacket implements IMinecraftPacket {
     }
 
     public void setCommand(String command) {
+        markDirty();
         this.command = command;
     }
 }
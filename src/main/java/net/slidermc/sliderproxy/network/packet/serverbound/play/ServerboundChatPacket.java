@@ -9,11 +9,11 @@ import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.connection.PlayerConnection;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ServerboundChatPacket implements IMinecraftPacket {
+public class ServerboundChatPacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ServerboundChatPacket.class);
 
     private String message;
@@ -81,26 +81,40 @@ public class ServerboundChatPacket implements IMinecraftPacket {
             return HandleResult.FORWARD;
         }
 
-        // 触发聊天事件
-        PlayerChatEvent event = new PlayerChatEvent(player, message);
-        EventRegistry.callEvent(event);
-
-        if (event.isCancelled()) {
-            log.debug("Chat message from {} was cancelled: {}", player.getName(), message);
-            return HandleResult.UNFORWARD;
-        }
-
-        // 如果消息被修改，需要重新构建数据包
-        // 注意：由于聊天签名机制，修改消息内容会导致签名验证失败
-        // 在 online-mode 服务器上，这可能导致玩家被踢出
-        if (!event.getMessage().equals(message)) {
-            log.debug("Chat message from {} was modified: {} -> {}", player.getName(), message, event.getMessage());
-            // 更新消息内容（签名将失效）
-            this.message = event.getMessage();
-            this.signature = null; // 清除签名，因为消息已被修改
+        // 没有监听器，也没有排在前面等待事件结果的聊天/命令时直接转发
+        if (!EventRegistry.hasListeners(PlayerChatEvent.class) && connection.isInboundEventChainIdle()) {
+            return HandleResult.FORWARD;
         }
 
-        return HandleResult.FORWARD;
+        // 触发聊天事件：监听器在异步事件线程上执行，不阻塞网络线程；结果按消息先后顺序回到事件循环处理
+        PlayerChatEvent event = new PlayerChatEvent(player, message);
+        connection.callEventInOrder(event, (result, throwable) -> {
+            if (throwable != null) {
+                log.warn("Chat event for {} failed, dropping message: {}", player.getName(), message, throwable);
+                release();
+                return;
+            }
+
+            if (result.isCancelled()) {
+                log.debug("Chat message from {} was cancelled: {}", player.getName(), message);
+                release();
+                return;
+            }
+
+            // 如果消息被修改，需要重新构建数据包
+            // 注意：由于聊天签名机制，修改消息内容会导致签名验证失败
+            // 在 online-mode 服务器上，这可能导致玩家被踢出
+            if (!result.getMessage().equals(message)) {
+                log.debug("Chat message from {} was modified: {} -> {}", player.getName(), message, result.getMessage());
+                // 更新消息内容（签名将失效）
+                this.message = result.getMessage();
+                this.signature = null; // 清除签名，因为消息已被修改
+                markDirty();
+            }
+
+            connection.forwardDownstream(this);
+        });
+        return HandleResult.PENDING;
     }
 
     public String getMessage() {
@@ -108,6 +122,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setMessage(String message) {
+        markDirty();
         this.message = message;
     }
 
@@ -116,6 +131,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setTimestamp(long timestamp) {
+        markDirty();
         this.timestamp = timestamp;
     }
 
@@ -124,6 +140,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setSalt(long salt) {
+        markDirty();
         this.salt = salt;
     }
 
@@ -132,6 +149,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setMessageCount(int messageCount) {
+        markDirty();
         this.messageCount = messageCount;
     }
 
@@ -140,6 +158,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setSignature(byte[] signature) {
+        markDirty();
         this.signature = signature;
     }
 
@@ -148,6 +167,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setAcknowledged(byte[] acknowledged) {
+        markDirty();
         this.acknowledged = acknowledged;
     }
 
@@ -156,6 +176,7 @@ public class ServerboundChatPacket implements IMinecraftPacket {
     }
 
     public void setChecksum(byte checksum) {
+        markDirty();
         this.checksum = checksum;
     }
 }
@@ -9,7 +9,7 @@ import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
 import net.slidermc.sliderproxy.network.MinecraftProtocolHelper;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import net.slidermc.sliderproxy.network.packet.clientbound.play.ClientboundCommandSuggestionsPacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +18,7 @@ import org.slf4j.LoggerFactory;
  * Command Suggestions Request 数据包 (0x0E)
  * 客户端请求命令自动补全建议
  */
-public class ServerboundCommandSuggestionPacket implements IMinecraftPacket {
+public class ServerboundCommandSuggestionPacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ServerboundCommandSuggestionPacket.class);
     
     private int transactionId;
@@ -96,6 +96,7 @@ public class ServerboundCommandSuggestionPacket implements IMinecraftPacket {
     }
 
     public void setTransactionId(int transactionId) {
+        markDirty();
         this.transactionId = transactionId;
     }
 
@@ -104,6 +105,7 @@ public class ServerboundCommandSuggestionPacket implements IMinecraftPacket {
     }
 
     public void setText(String text) {
+        markDirty();
         this.text = text;
     }
 }
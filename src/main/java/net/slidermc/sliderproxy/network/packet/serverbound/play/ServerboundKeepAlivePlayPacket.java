@@ -2,10 +2,16 @@ package net.slidermc.sliderproxy.network.packet.serverbound.play;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
+import net.slidermc.sliderproxy.network.packet.FlushImmediately;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.Poolable;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 
-public class ServerboundKeepAlivePlayPacket implements IMinecraftPacket {
+@Poolable
+@FlushImmediately
+@DecodeOnDemand
+public class ServerboundKeepAlivePlayPacket extends ForwardablePacket {
     private long keepAliveId;
 
     public ServerboundKeepAlivePlayPacket() {}
@@ -24,16 +30,23 @@ public class ServerboundKeepAlivePlayPacket implements IMinecraftPacket {
         byteBuf.writeLong(this.keepAliveId);
     }
 
+    @Override
+    public int getExpectedSize() {
+        return 8;
+    }
+
     @Override
     public HandleResult handle(ChannelHandlerContext ctx) {
         return HandleResult.FORWARD; // 暂时不处理KeepAlive，透传
     }
 
     public long getKeepAliveId() {
+        ensureAccessible();
         return keepAliveId;
     }
 
     public void setKeepAliveId(long keepAliveId) {
+        markDirty();
         this.keepAliveId = keepAliveId;
     }
 }
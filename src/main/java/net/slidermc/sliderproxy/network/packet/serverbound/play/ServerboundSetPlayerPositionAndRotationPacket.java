@@ -6,12 +6,16 @@ import net.slidermc.sliderproxy.api.event.EventRegistry;
 import net.slidermc.sliderproxy.api.event.events.PlayerPositionEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.Poolable;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ServerboundSetPlayerPositionAndRotationPacket implements IMinecraftPacket {
+@Poolable
+@DecodeOnDemand(PlayerPositionEvent.class)
+public class ServerboundSetPlayerPositionAndRotationPacket extends ForwardablePacket {
     private static final Logger log = LoggerFactory.getLogger(ServerboundSetPlayerPositionAndRotationPacket.class);
     private double x;
     private double feetY;
@@ -41,6 +45,22 @@ public class ServerboundSetPlayerPositionAndRotationPacket implements IMinecraft
         this.flags = byteBuf.readByte();
     }
 
+    /**
+     * 跳过解码时直接从原始字节读取坐标与朝向更新玩家位置，不创建包对象，不移动读指针
+     * @param body 包ID之后的数据
+     */
+    public static void track(ProxiedPlayer player, ByteBuf body) {
+        int index = body.readerIndex();
+        if (body.readableBytes() < 32) {
+            return;
+        }
+        player.setX(body.getDouble(index));
+        player.setY(body.getDouble(index + 8));
+        player.setZ(body.getDouble(index + 16));
+        player.setYaw(body.getFloat(index + 24));
+        player.setPitch(body.getFloat(index + 28));
+    }
+
     @Override
     public void write(ByteBuf byteBuf) {
         byteBuf.writeDouble(this.x);
@@ -51,10 +71,25 @@ public class ServerboundSetPlayerPositionAndRotationPacket implements IMinecraft
         byteBuf.writeByte(this.flags);
     }
 
+    @Override
+    public int getExpectedSize() {
+        return 33;
+    }
+
     @Override
     public HandleResult handle(ChannelHandlerContext ctx) {
         ProxiedPlayer player = PlayerManager.getInstance().getPlayerByUpstreamChannel(ctx.channel());
         if (player != null) {
+            // 没有监听器时不构造事件，直接更新位置
+            if (!EventRegistry.hasListeners(PlayerPositionEvent.class)) {
+                player.setX(x);
+                player.setY(feetY);
+                player.setZ(z);
+                player.setYaw(yaw);
+                player.setPitch(pitch);
+                return HandleResult.FORWARD;
+            }
+
             // 触发位置事件
             PlayerPositionEvent positionEvent = new PlayerPositionEvent(
                 player, 
@@ -87,56 +122,69 @@ public class ServerboundSetPlayerPositionAndRotationPacket implements IMinecraft
                 this.z = positionEvent.getZ();
                 this.yaw = positionEvent.getYaw();
                 this.pitch = positionEvent.getPitch();
+                markDirty();
             }
         }
         return HandleResult.FORWARD;
     }
 
     public double getX() {
+        ensureAccessible();
         return x;
     }
 
     public void setX(double x) {
+        markDirty();
         this.x = x;
     }
 
     public double getFeetY() {
+        ensureAccessible();
         return feetY;
     }
 
     public void setFeetY(double feetY) {
+        markDirty();
         this.feetY = feetY;
     }
 
     public double getZ() {
+        ensureAccessible();
         return z;
     }
 
     public void setZ(double z) {
+        markDirty();
         this.z = z;
     }
 
     public float getYaw() {
+        ensureAccessible();
         return yaw;
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
     public float getPitch() {
+        ensureAccessible();
         return pitch;
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
     public byte getFlags() {
+        ensureAccessible();
         return flags;
     }
 
     public void setFlags(byte flags) {
+        markDirty();
         this.flags = flags;
     }
 }
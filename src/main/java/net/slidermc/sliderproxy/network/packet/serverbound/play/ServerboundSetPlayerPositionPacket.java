@@ -6,10 +6,14 @@ import net.slidermc.sliderproxy.api.event.EventRegistry;
 import net.slidermc.sliderproxy.api.event.events.PlayerPositionEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.Poolable;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 
-public class ServerboundSetPlayerPositionPacket implements IMinecraftPacket {
+@Poolable
+@DecodeOnDemand(PlayerPositionEvent.class)
+public class ServerboundSetPlayerPositionPacket extends ForwardablePacket {
     private double x;
     private double feetY;
     private double z;
@@ -32,6 +36,20 @@ public class ServerboundSetPlayerPositionPacket implements IMinecraftPacket {
         this.flags = byteBuf.readByte();
     }
 
+    /**
+     * 跳过解码时直接从原始字节读取坐标更新玩家位置，不创建包对象，不移动读指针
+     * @param body 包ID之后的数据
+     */
+    public static void track(ProxiedPlayer player, ByteBuf body) {
+        int index = body.readerIndex();
+        if (body.readableBytes() < 24) {
+            return;
+        }
+        player.setX(body.getDouble(index));
+        player.setY(body.getDouble(index + 8));
+        player.setZ(body.getDouble(index + 16));
+    }
+
     @Override
     public void write(ByteBuf byteBuf) {
         byteBuf.writeDouble(this.x);
@@ -40,10 +58,23 @@ public class ServerboundSetPlayerPositionPacket implements IMinecraftPacket {
         byteBuf.writeByte(this.flags);
     }
 
+    @Override
+    public int getExpectedSize() {
+        return 25;
+    }
+
     @Override
     public HandleResult handle(ChannelHandlerContext ctx) {
         ProxiedPlayer player = PlayerManager.getInstance().getPlayerByUpstreamChannel(ctx.channel());
         if (player != null) {
+            // 没有监听器时不构造事件，直接更新位置
+            if (!EventRegistry.hasListeners(PlayerPositionEvent.class)) {
+                player.setX(x);
+                player.setY(feetY);
+                player.setZ(z);
+                return HandleResult.FORWARD;
+            }
+
             // 触发位置事件
             PlayerPositionEvent positionEvent = new PlayerPositionEvent(
                 player, 
@@ -71,40 +102,49 @@ public class ServerboundSetPlayerPositionPacket implements IMinecraftPacket {
                 this.x = positionEvent.getX();
                 this.feetY = positionEvent.getY();
                 this.z = positionEvent.getZ();
+                markDirty();
             }
         }
         return HandleResult.FORWARD;
     }
 
     public double getX() {
+        ensureAccessible();
         return x;
     }
 
     public void setX(double x) {
+        markDirty();
         this.x = x;
     }
 
     public double getFeetY() {
+        ensureAccessible();
         return feetY;
     }
 
     public void setFeetY(double feetY) {
+        markDirty();
         this.feetY = feetY;
     }
 
     public double getZ() {
+        ensureAccessible();
         return z;
     }
 
     public void setZ(double z) {
+        markDirty();
         this.z = z;
     }
 
     public byte getFlags() {
+        ensureAccessible();
         return flags;
     }
 
     public void setFlags(byte flags) {
+        markDirty();
         this.flags = flags;
     }
 }
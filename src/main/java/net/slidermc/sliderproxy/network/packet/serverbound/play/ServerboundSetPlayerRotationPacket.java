@@ -6,10 +6,14 @@ import net.slidermc.sliderproxy.api.event.EventRegistry;
 import net.slidermc.sliderproxy.api.event.events.PlayerPositionEvent;
 import net.slidermc.sliderproxy.api.player.PlayerManager;
 import net.slidermc.sliderproxy.api.player.ProxiedPlayer;
+import net.slidermc.sliderproxy.network.packet.DecodeOnDemand;
 import net.slidermc.sliderproxy.network.packet.HandleResult;
-import net.slidermc.sliderproxy.network.packet.IMinecraftPacket;
+import net.slidermc.sliderproxy.network.packet.Poolable;
+import net.slidermc.sliderproxy.network.packet.ForwardablePacket;
 
-public class ServerboundSetPlayerRotationPacket implements IMinecraftPacket {
+@Poolable
+@DecodeOnDemand(PlayerPositionEvent.class)
+public class ServerboundSetPlayerRotationPacket extends ForwardablePacket {
     private float yaw;
     private float pitch;
     private byte flags;
@@ -29,6 +33,19 @@ public class ServerboundSetPlayerRotationPacket implements IMinecraftPacket {
         this.flags = byteBuf.readByte();
     }
 
+    /**
+     * 跳过解码时直接从原始字节读取朝向更新玩家，不创建包对象，不移动读指针
+     * @param body 包ID之后的数据
+     */
+    public static void track(ProxiedPlayer player, ByteBuf body) {
+        int index = body.readerIndex();
+        if (body.readableBytes() < 8) {
+            return;
+        }
+        player.setYaw(body.getFloat(index));
+        player.setPitch(body.getFloat(index + 4));
+    }
+
     @Override
     public void write(ByteBuf byteBuf) {
         byteBuf.writeFloat(this.yaw);
@@ -36,10 +53,22 @@ public class ServerboundSetPlayerRotationPacket implements IMinecraftPacket {
         byteBuf.writeByte(this.flags);
     }
 
+    @Override
+    public int getExpectedSize() {
+        return 9;
+    }
+
     @Override
     public HandleResult handle(ChannelHandlerContext ctx) {
         ProxiedPlayer player = PlayerManager.getInstance().getPlayerByUpstreamChannel(ctx.channel());
         if (player != null) {
+            // 没有监听器时不构造事件，直接更新朝向
+            if (!EventRegistry.hasListeners(PlayerPositionEvent.class)) {
+                player.setYaw(yaw);
+                player.setPitch(pitch);
+                return HandleResult.FORWARD;
+            }
+
             // 触发位置事件（只有旋转）
             PlayerPositionEvent positionEvent = new PlayerPositionEvent(
                 player, 
@@ -65,32 +94,39 @@ public class ServerboundSetPlayerRotationPacket implements IMinecraftPacket {
             if (positionEvent.getYaw() != yaw || positionEvent.getPitch() != pitch) {
                 this.yaw = positionEvent.getYaw();
                 this.pitch = positionEvent.getPitch();
+                markDirty();
             }
         }
         return HandleResult.FORWARD;
     }
 
     public float getYaw() {
+        ensureAccessible();
         return yaw;
     }
 
     public void setYaw(float yaw) {
+        markDirty();
         this.yaw = yaw;
     }
 
     public float getPitch() {
+        ensureAccessible();
         return pitch;
     }
 
     public void setPitch(float pitch) {
+        markDirty();
         this.pitch = pitch;
     }
 
     public byte getFlags() {
+        ensureAccessible();
         return flags;
     }
 
     public void setFlags(byte flags) {
+        markDirty();
         this.flags = flags;
     }
 }